@@ -0,0 +1,76 @@
+package com.example.blogapi.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compares a JMH JSON result file against a stored baseline and exits non-zero
+ * when any benchmark regressed by more than the allowed percentage.
+ * Throughput scores regress when they drop; time-per-op scores when they rise.
+ *
+ * Usage: JmhBaselineComparator baseline.json result.json [maxRegressionPercent]
+ */
+public class JmhBaselineComparator {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: JmhBaselineComparator <baseline.json> <result.json> [maxRegressionPercent]");
+            System.exit(2);
+        }
+
+        File baselineFile = new File(args[0]);
+        if (!baselineFile.exists()) {
+            System.out.println("No baseline at " + baselineFile + "; nothing to compare");
+            return;
+        }
+
+        double maxRegression = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, JsonNode> baseline = index(mapper.readTree(baselineFile));
+        Map<String, JsonNode> current = index(mapper.readTree(new File(args[1])));
+
+        int regressions = 0;
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("NEW        %s%n", entry.getKey());
+                continue;
+            }
+
+            double oldScore = before.path("primaryMetric").path("score").asDouble();
+            double newScore = entry.getValue().path("primaryMetric").path("score").asDouble();
+            boolean higherIsBetter = "thrpt".equals(entry.getValue().path("mode").asText());
+            double change = (newScore - oldScore) / oldScore * 100.0;
+            double regression = higherIsBetter ? -change : change;
+
+            String status = regression > maxRegression ? "REGRESSED" : "ok";
+            if (regression > maxRegression) {
+                regressions++;
+            }
+            System.out.printf("%-10s %s: %.3f -> %.3f (%+.1f%%)%n", status, entry.getKey(), oldScore, newScore, change);
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.1f%%%n", regressions, maxRegression);
+            System.exit(1);
+        }
+    }
+
+    // Benchmarks are keyed by method name plus their @Param values
+    private static Map<String, JsonNode> index(JsonNode results) {
+        Map<String, JsonNode> byKey = new HashMap<>();
+        for (JsonNode result : results) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            JsonNode params = result.path("params");
+            params.fieldNames().forEachRemaining(name -> key.append(' ').append(name).append('=')
+                    .append(params.path(name).asText()));
+            byKey.put(key.toString(), result);
+        }
+        return byKey;
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.blogapi.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load generator for comparing the platform-thread and
+ * virtual-thread modes against a running instance. Signs up a throwaway user,
+ * seeds a few posts, then has {@code concurrency} clients hammer the
+ * paginated list endpoint and reports throughput and latency percentiles.
+ *
+ * Run once per mode (app.threads.virtual.enabled=false / true) and compare:
+ * mvn -Pjmh test-compile exec:exec@load-test -Dloadtest.url=http://localhost:8080 -Dloadtest.concurrency=500
+ *
+ * Usage: LoadTestHarness baseUrl [concurrency] [durationSeconds] [path]
+ */
+public class LoadTestHarness {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: LoadTestHarness <baseUrl> [concurrency] [durationSeconds] [path]");
+            System.exit(2);
+        }
+
+        String baseUrl = args[0];
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int durationSeconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        String path = args.length > 3 ? args[3] : "/api/blogs/page?limit=20";
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        String token = signUpAndLogin(client, baseUrl);
+        for (int i = 0; i < 50; i++) {
+            send(client, HttpRequest.newBuilder(URI.create(baseUrl + "/api/blogs"))
+                    .header("Authorization", "Bearer " + token)
+                    .header("Content-Type", "application/json")
+                    .POST(json(Map.of("title", "Load test post " + i, "content", "Seed content " + i, "published", true)))
+                    .build());
+        }
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+
+        // Short warm-up so JIT and connection setup don't land in the measured window
+        runPhase(client, request, concurrency, 5, null);
+
+        LatencyRecorder recorder = new LatencyRecorder(concurrency);
+        long startNanos = System.nanoTime();
+        runPhase(client, request, concurrency, durationSeconds, recorder);
+        double elapsedSeconds = (System.nanoTime() - startNanos) / 1e9;
+
+        long[] latencies = recorder.sorted();
+        System.out.printf("target       %s%s%n", baseUrl, path);
+        System.out.printf("concurrency  %d, %ds%n", concurrency, durationSeconds);
+        System.out.printf("requests     %d ok, %d failed%n", latencies.length, recorder.failures.get());
+        System.out.printf("throughput   %.1f req/s%n", latencies.length / elapsedSeconds);
+        System.out.printf("latency ms   p50=%.1f p90=%.1f p99=%.1f max=%.1f%n",
+                percentile(latencies, 0.50), percentile(latencies, 0.90),
+                percentile(latencies, 0.99), percentile(latencies, 1.0));
+    }
+
+    private static void runPhase(HttpClient client, HttpRequest request, int concurrency,
+                                 int durationSeconds, LatencyRecorder recorder) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(durationSeconds).toNanos();
+        CountDownLatch done = new CountDownLatch(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            int worker = i;
+            Thread thread = new Thread(() -> {
+                try {
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        boolean ok;
+                        try {
+                            ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+                        } catch (Exception e) {
+                            ok = false;
+                        }
+                        if (recorder != null) {
+                            recorder.record(worker, System.nanoTime() - start, ok);
+                        }
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+        }
+        done.await();
+    }
+
+    private static String signUpAndLogin(HttpClient client, String baseUrl) throws Exception {
+        String email = "loadtest-" + UUID.randomUUID() + "@example.com";
+        String password = "loadtest-password";
+        send(client, HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/signup"))
+                .header("Content-Type", "application/json")
+                .POST(json(Map.of("name", "Load Test", "email", email, "password", password)))
+                .build());
+        HttpResponse<String> login = send(client, HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(json(Map.of("email", email, "password", password)))
+                .build());
+        return MAPPER.readTree(login.body()).path("token").asText();
+    }
+
+    private static HttpResponse<String> send(HttpClient client, HttpRequest request) throws Exception {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException(request.uri() + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return response;
+    }
+
+    private static HttpRequest.BodyPublisher json(Object body) throws Exception {
+        return HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(body));
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+
+    /** One growable latency buffer per worker so the hot loop never contends. */
+    private static class LatencyRecorder {
+        private final long[][] samples;
+        private final int[] counts;
+        private final AtomicLong failures = new AtomicLong();
+
+        LatencyRecorder(int workers) {
+            samples = new long[workers][1024];
+            counts = new int[workers];
+        }
+
+        void record(int worker, long nanos, boolean ok) {
+            if (!ok) {
+                failures.incrementAndGet();
+                return;
+            }
+            if (counts[worker] == samples[worker].length) {
+                samples[worker] = Arrays.copyOf(samples[worker], counts[worker] * 2);
+            }
+            samples[worker][counts[worker]++] = nanos;
+        }
+
+        long[] sorted() {
+            int total = Arrays.stream(counts).sum();
+            long[] all = new long[total];
+            int offset = 0;
+            for (int i = 0; i < samples.length; i++) {
+                System.arraycopy(samples[i], 0, all, offset, counts[i]);
+                offset += counts[i];
+            }
+            Arrays.sort(all);
+            return all;
+        }
+    }
+}
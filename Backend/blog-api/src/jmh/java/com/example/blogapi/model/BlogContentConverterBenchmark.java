@@ -0,0 +1,48 @@
+package com.example.blogapi.model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU cost of the blog body encoding on the write path (deflate) and on every
+ * uncached read (inflate), next to the bytes it keeps out of the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BlogContentConverterBenchmark {
+
+    @Param({"512", "4096", "65536"})
+    private int contentLength;
+
+    private BlogContentConverter converter;
+    private String content;
+    private byte[] stored;
+
+    @Setup
+    public void setUp() {
+        converter = new BlogContentConverter();
+        StringBuilder text = new StringBuilder(contentLength);
+        String[] words = {"latency", "buffer", "pool", "index", "query", "cache", "the", "of", "and", "blog"};
+        for (int i = 0; text.length() < contentLength; i++) {
+            text.append(words[(i * 7 + i / 3) % words.length]).append(i % 13 == 0 ? ".\n" : " ");
+        }
+        content = text.substring(0, contentLength);
+        stored = converter.convertToDatabaseColumn(content);
+        System.out.printf("%n%d chars stored in %d bytes%n", contentLength, stored.length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return converter.convertToDatabaseColumn(content);
+    }
+
+    @Benchmark
+    public String decode() {
+        return converter.convertToEntityAttribute(stored);
+    }
+}
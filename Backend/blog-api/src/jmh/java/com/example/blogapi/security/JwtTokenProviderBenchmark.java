@@ -0,0 +1,83 @@
+package com.example.blogapi.security;
+
+import com.example.blogapi.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token verification as done by JwtAuthenticationFilter: the previous
+ * validate-then-extract path (two key derivations and two HMAC checks) against
+ * a single parse through the shared parser, with and without the verified-token cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET = "benchmark_secret_key_that_is_long_enough_for_hmac_sha256";
+
+    private JwtTokenProvider cachedProvider;
+    private JwtTokenProvider uncachedProvider;
+    private User author;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachedProvider = provider(10_000);
+        uncachedProvider = provider(0);
+
+        author = new User();
+        author.setId(1L);
+        author.setName("Author");
+        author.setEmail("author@example.com");
+        token = cachedProvider.generateAccessToken(author);
+    }
+
+    @Benchmark
+    public String validateThenExtractBaseline() {
+        Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes())).build().parseClaimsJws(token);
+        return Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes())).build()
+                .parseClaimsJws(token).getBody().getSubject();
+    }
+
+    @Benchmark
+    public Claims parseClaimsUncached() {
+        return uncachedProvider.parseClaims(token);
+    }
+
+    @Benchmark
+    public Claims parseClaimsCached() {
+        return cachedProvider.parseClaims(token);
+    }
+
+    // The whole per-request path of the filter: claims, then the principal built from them
+    @Benchmark
+    public AuthenticatedUser authenticateCached() {
+        return cachedProvider.toPrincipal(cachedProvider.parseClaims(token));
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachedProvider.generateAccessToken(author);
+    }
+
+    static JwtTokenProvider provider(long verifiedCacheSize) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "accessExpirationInMs", 3_600_000L);
+        ReflectionTestUtils.setField(provider, "verifiedCacheSize", verifiedCacheSize);
+        ReflectionTestUtils.setField(provider, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(provider, "revocationList", new TokenRevocationList());
+        provider.init();
+        return provider;
+    }
+}
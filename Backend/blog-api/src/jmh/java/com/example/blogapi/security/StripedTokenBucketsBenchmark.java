@@ -0,0 +1,62 @@
+package com.example.blogapi.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of the rate limit check under contention: the striped
+ * primitive tables used by RateLimitFilter against a Caffeine cache of
+ * {@link TokenBucket} objects as in AuthRateLimiter, for one hot caller and for
+ * callers drawn from a large population. Capacities are high enough that every
+ * request is admitted, so only the bookkeeping is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class StripedTokenBucketsBenchmark {
+
+    private static final long CAPACITY = Long.MAX_VALUE / 2;
+    private static final int CALLERS = 50_000;
+
+    private StripedTokenBuckets striped;
+    private Cache<Long, TokenBucket> caffeine;
+
+    @Setup
+    public void setUp() {
+        striped = new StripedTokenBuckets(CAPACITY, CAPACITY, 100_000);
+        caffeine = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterAccess(Duration.ofMinutes(1))
+                .build();
+    }
+
+    @Benchmark
+    public long stripedHotKey() {
+        return striped.tryAcquire(42L, System.nanoTime());
+    }
+
+    @Benchmark
+    public long stripedManyKeys() {
+        return striped.tryAcquire(ThreadLocalRandom.current().nextInt(CALLERS), System.nanoTime());
+    }
+
+    @Benchmark
+    public long caffeineHotKeyBaseline() {
+        return caffeine.get(42L, key -> new TokenBucket(CAPACITY, CAPACITY)).tryConsume();
+    }
+
+    @Benchmark
+    public long caffeineManyKeysBaseline() {
+        long key = ThreadLocalRandom.current().nextInt(CALLERS);
+        return caffeine.get(key, k -> new TokenBucket(CAPACITY, CAPACITY)).tryConsume();
+    }
+}
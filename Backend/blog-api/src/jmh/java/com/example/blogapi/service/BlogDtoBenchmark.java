@@ -0,0 +1,95 @@
+package com.example.blogapi.service;
+
+import com.example.blogapi.dto.BlogDto;
+import com.example.blogapi.dto.BlogWithContent;
+import com.example.blogapi.dto.UserDto;
+import com.example.blogapi.model.Blog;
+import com.example.blogapi.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Entity to DTO conversion and JSON serialisation of blog lists, the two
+ * CPU-bound steps of every list endpoint once rows are loaded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BlogDtoBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int listSize;
+
+    @Param({"1024", "65536"})
+    private int contentLength;
+
+    private BlogService blogService;
+    private User author;
+    private List<BlogWithContent> blogs;
+    private List<BlogDto> blogDtos;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        blogService = new BlogService();
+        ReflectionTestUtils.setField(blogService, "userService", new UserService());
+        ReflectionTestUtils.setField(blogService, "meterRegistry", new SimpleMeterRegistry());
+        blogService.initTimers();
+
+        author = new User();
+        author.setId(1L);
+        author.setName("Author");
+        author.setEmail("author@example.com");
+        author.setBio("Writes about performance");
+
+        String content = "x".repeat(contentLength);
+        blogs = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            Blog blog = new Blog();
+            blog.setId((long) i);
+            blog.setTitle("Post " + i);
+            blog.setPublished(i % 2 == 0);
+            blog.setCreatedAt(LocalDateTime.now());
+            blog.setUpdatedAt(LocalDateTime.now());
+            blog.setUser(author);
+            blogs.add(new BlogWithContent(blog, content));
+        }
+
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        blogDtos = convertWithSharedAuthor();
+    }
+
+    @Benchmark
+    public List<BlogDto> convertPerRowAuthor() {
+        return blogs.stream()
+                .map(row -> blogService.convertToDto(row.getBlog(), row.getContent()))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<BlogDto> convertWithSharedAuthor() {
+        UserDto authorDto = blogService.convertToDto(blogs.get(0).getBlog(), blogs.get(0).getContent()).getUser();
+        return blogs.stream()
+                .map(row -> blogService.convertToDto(row.getBlog(), row.getContent(), authorDto))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public void serializeList() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), blogDtos);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.blogapi.cache;
+
+import com.example.blogapi.event.BlogChangeType;
+import com.example.blogapi.event.BlogChangedEvent;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongFunction;
+
+/**
+ * Read-through cache of single blogs on top of the configured {@link CacheManager}.
+ *
+ * Writes bump a per-key generation after commit and then evict. A reader
+ * remembers the generation before loading and only keeps what it stored if
+ * the generation is unchanged afterwards, so a load that raced with a write
+ * can never leave the pre-write row in the cache.
+ */
+@Component
+public class BlogCache {
+
+    public static final String CACHE_NAME = "blogs";
+
+    private static final int STRIPES = 1024;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+
+    private Cache cache;
+
+    @PostConstruct
+    public void init() {
+        cache = cacheManager.getCache(CACHE_NAME);
+    }
+
+    /** Returns the cached entry or loads, stores and returns it; null if the loader finds nothing. */
+    public CachedBlog get(Long blogId, LongFunction<CachedBlog> loader) {
+        CachedBlog cached = cache.get(blogId, CachedBlog.class);
+        if (cached != null) {
+            return cached;
+        }
+
+        int stripe = stripe(blogId);
+        long generation = generations.get(stripe);
+        CachedBlog loaded = loader.apply(generation);
+        if (loaded == null) {
+            return null;
+        }
+
+        cache.putIfAbsent(blogId, loaded);
+        if (generations.get(stripe) != generation) {
+            cache.evict(blogId);
+        }
+        return loaded;
+    }
+
+    /** The cached entry if present, without loading. */
+    public CachedBlog peek(Long blogId) {
+        return cache.get(blogId, CachedBlog.class);
+    }
+
+    public void invalidate(Long blogId) {
+        generations.incrementAndGet(stripe(blogId));
+        cache.evict(blogId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBlogChanged(BlogChangedEvent event) {
+        if (event.getType() != BlogChangeType.CREATED) {
+            invalidate(event.getBlogId());
+        }
+    }
+
+    private int stripe(Long blogId) {
+        return (int) (blogId ^ (blogId >>> 32)) & (STRIPES - 1);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.blogapi.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Cached form of a single blog. The author is kept only as an id so profile
+ * edits never leave a stale name behind; {@code rowVersion} is the blog's
+ * optimistic-lock version and {@code version} is the load generation the
+ * entry was read under (see {@link BlogCache}).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CachedBlog implements Serializable {
+    private Long id;
+    private Long ownerId;
+    private String title;
+    private String content;
+    private boolean published;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private long rowVersion;
+    private long version;
+}
@@ -0,0 +1,14 @@
+package com.example.blogapi.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Turns on Boot's cache auto-configuration. The backing {@code CacheManager}
+ * is chosen by {@code spring.cache.type} (Caffeine locally); any other
+ * provider, e.g. Redis, can be swapped in by configuration alone.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+}
@@ -0,0 +1,10 @@
+package com.example.blogapi.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Background jobs such as the outbox dispatcher run on Spring's scheduler
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
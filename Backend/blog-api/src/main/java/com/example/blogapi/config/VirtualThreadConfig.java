@@ -0,0 +1,80 @@
+package com.example.blogapi.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Opt-in ({@code app.threads.virtual.enabled=true}) request handling on virtual
+ * threads. Tomcat hands each request to a new virtual thread, and the
+ * {@link JdbcConcurrencyGate} in front of Hikari keeps the number of threads
+ * holding a connection at the pool size so the rest queue on a semaphore.
+ *
+ * The project still compiles for Java 17, so the executor is looked up
+ * reflectively; on an older runtime the platform-thread pool is kept.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> {
+            ExecutorService executor = newVirtualThreadPerTaskExecutor();
+            if (executor != null) {
+                protocolHandler.setExecutor(executor);
+                log.info("Tomcat request handling runs on virtual threads");
+            }
+        };
+    }
+
+    @Bean
+    public static BeanPostProcessor jdbcConcurrencyGatePostProcessor(Environment environment,
+                                                                     ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof JdbcConcurrencyGate) {
+                    return bean;
+                }
+
+                int permits = environment.getProperty("app.jdbc.gate.permits", Integer.class,
+                        environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+                long timeoutMillis = environment.getProperty("app.jdbc.gate.acquire-timeout-ms", Long.class, 30000L);
+                JdbcConcurrencyGate gate = new JdbcConcurrencyGate(dataSource, permits, timeoutMillis);
+
+                meterRegistry.ifAvailable(registry -> {
+                    Gauge.builder("blog.jdbc.gate.available", gate, JdbcConcurrencyGate::getAvailablePermits)
+                            .register(registry);
+                    Gauge.builder("blog.jdbc.gate.waiting", gate, JdbcConcurrencyGate::getQueueLength)
+                            .register(registry);
+                });
+                return gate;
+            }
+        };
+    }
+
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            log.warn("Virtual threads need Java 21+ (running {}); keeping the platform thread pool",
+                    System.getProperty("java.version"));
+            return null;
+        }
+    }
+}
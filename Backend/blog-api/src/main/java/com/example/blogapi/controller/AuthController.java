@@ -2,11 +2,16 @@ package com.example.blogapi.controller;
 
 import com.example.blogapi.dto.AuthRequest;
 import com.example.blogapi.dto.AuthResponse;
+import com.example.blogapi.dto.RefreshTokenRequest;
 import com.example.blogapi.dto.SignupRequest;
+import com.example.blogapi.security.AuthRateLimiter;
 import com.example.blogapi.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -16,8 +21,12 @@ public class AuthController {
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private AuthRateLimiter authRateLimiter;
+
     @PostMapping("/login")
-    public ResponseEntity<?> authenticateUser(@RequestBody AuthRequest loginRequest) {
+    public ResponseEntity<?> authenticateUser(@RequestBody AuthRequest loginRequest, HttpServletRequest request) {
+        authRateLimiter.check(request.getRemoteAddr(), loginRequest.getEmail());
         AuthResponse response = authService.authenticateUser(
                 loginRequest.getEmail(),
                 loginRequest.getPassword()
@@ -26,7 +35,8 @@ public class AuthController {
     }
 
     @PostMapping("/signup")
-    public ResponseEntity<?> registerUser(@RequestBody SignupRequest signupRequest) {
+    public ResponseEntity<?> registerUser(@RequestBody SignupRequest signupRequest, HttpServletRequest request) {
+        authRateLimiter.check(request.getRemoteAddr(), signupRequest.getEmail());
         boolean success = authService.registerUser(
                 signupRequest.getName(),
                 signupRequest.getEmail(),
@@ -39,4 +49,23 @@ public class AuthController {
 
         return new ResponseEntity<>("User registered successfully", HttpStatus.CREATED);
     }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody RefreshTokenRequest refreshRequest) {
+        AuthResponse response = authService.refresh(refreshRequest.getRefreshToken());
+        if (response == null) {
+            return new ResponseEntity<>("Invalid or expired refresh token", HttpStatus.UNAUTHORIZED);
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestBody(required = false) RefreshTokenRequest logoutRequest,
+                                    HttpServletRequest request) {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        String accessToken = StringUtils.hasText(authorization) && authorization.startsWith("Bearer ")
+                ? authorization.substring(7) : null;
+        authService.logout(accessToken, logoutRequest != null ? logoutRequest.getRefreshToken() : null);
+        return ResponseEntity.noContent().build();
+    }
 }
\ No newline at end of file
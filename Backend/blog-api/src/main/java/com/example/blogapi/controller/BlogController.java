@@ -1,124 +1,302 @@
 package com.example.blogapi.controller;
 
 import com.example.blogapi.dto.BlogDto;
+import com.example.blogapi.dto.BlogListVersion;
+import com.example.blogapi.dto.BlogPatchRequest;
 import com.example.blogapi.dto.BlogRequest;
 import com.example.blogapi.dto.BlogStatsDto;
-import com.example.blogapi.model.Blog;
+import com.example.blogapi.dto.BlogSummaryDto;
+import com.example.blogapi.dto.BulkImportResult;
+import com.example.blogapi.dto.CursorPageDto;
+import com.example.blogapi.exception.BlogPreconditionFailedException;
+import com.example.blogapi.exception.BlogPreconditionRequiredException;
 import com.example.blogapi.model.User;
-import com.example.blogapi.repository.BlogRepository;
+import com.example.blogapi.search.BlogSearchService;
+import com.example.blogapi.service.BlogExportService;
+import com.example.blogapi.service.BlogImportService;
 import com.example.blogapi.service.BlogService;
+import com.example.blogapi.service.BlogStatsService;
 import com.example.blogapi.service.UserService;
+import com.example.blogapi.stream.BlogEventStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/blogs")
 public class BlogController {
 
-    @Autowired
-    private BlogRepository blogRepository;
+    // Let clients keep a private copy but revalidate it on every use
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    // "blog-{id}-v{version}-{authorTag}" as issued; If-Match may leave off the author part, which isn't about the row
+    private static final Pattern BLOG_ETAG = Pattern.compile("(?:W/)?\"blog-(\\d+)-v(\\d+)(?:-[0-9a-f]+)?\"");
 
     @Autowired
     private BlogService blogService;
 
+    @Autowired
+    private BlogStatsService blogStatsService;
+
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private BlogSearchService blogSearchService;
+
+    @Autowired
+    private BlogExportService blogExportService;
+
+    @Autowired
+    private BlogImportService blogImportService;
+
+    @Autowired
+    private BlogEventStream blogEventStream;
+
     @GetMapping
-    public ResponseEntity<List<BlogDto>> getAllBlogs() {
-        User currentUser = userService.getCurrentUser();
-        List<BlogDto> blogDtos = blogService.getAllBlogs(currentUser);
-        return ResponseEntity.ok(blogDtos);
+    public ResponseEntity<List<?>> getAllBlogs(@RequestParam(required = false) String fields, WebRequest request) {
+        boolean withContent = includesContent(fields);
+        // Summaries carry no author, so they only need the caller's id from the token
+        User currentUser = withContent ? userService.getCurrentUser() : userService.getCurrentUserReference();
+        if (listNotModified(request, currentUser, withContent ? "all-content" : "all", withContent)) {
+            return null;
+        }
+        if (withContent) {
+            return ResponseEntity.ok().cacheControl(REVALIDATE).body(blogService.getAllBlogs(currentUser));
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(blogService.getBlogSummaries(currentUser));
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDto<?>> getBlogPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + BlogService.DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(required = false) String fields) {
+        try {
+            if (includesContent(fields)) {
+                return ResponseEntity.ok(blogService.getBlogPage(userService.getCurrentUser(), cursor, limit));
+            }
+            return ResponseEntity.ok(blogService.getBlogSummaryPage(userService.getCurrentUserReference(), cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/recent")
-    public ResponseEntity<List<BlogDto>> getRecentBlogs() {
-        User currentUser = userService.getCurrentUser();
-        List<BlogDto> blogDtos = blogService.getRecentBlogs(currentUser);
-        return ResponseEntity.ok(blogDtos);
+    public ResponseEntity<List<?>> getRecentBlogs(@RequestParam(required = false) String fields, WebRequest request) {
+        boolean withContent = includesContent(fields);
+        User currentUser = withContent ? userService.getCurrentUser() : userService.getCurrentUserReference();
+        if (listNotModified(request, currentUser, withContent ? "recent-content" : "recent", withContent)) {
+            return null;
+        }
+        if (withContent) {
+            return ResponseEntity.ok().cacheControl(REVALIDATE).body(blogService.getRecentBlogs(currentUser));
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(blogService.getRecentBlogSummaries(currentUser));
     }
 
     @GetMapping("/stats")
     public ResponseEntity<BlogStatsDto> getBlogStats() {
-        User currentUser = userService.getCurrentUser();
-        long totalBlogs = blogRepository.countByUserAndPublishedTrue(currentUser) +
-                blogRepository.countByUserAndPublishedFalse(currentUser);
-        long publishedBlogs = blogRepository.countByUserAndPublishedTrue(currentUser);
-        long draftBlogs = blogRepository.countByUserAndPublishedFalse(currentUser);
+        User currentUser = userService.getCurrentUserReference();
+        return ResponseEntity.ok(blogStatsService.getStats(currentUser));
+    }
 
-        return ResponseEntity.ok(new BlogStatsDto(totalBlogs, publishedBlogs, draftBlogs));
+    /**
+     * Server-sent events for the caller's blogs: {@code created}, {@code updated}
+     * and {@code deleted} with a summary payload, or {@code resync} when the
+     * client should reload. Replaces polling /recent and /stats.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return blogEventStream.subscribe(userService.getCurrentPrincipal().getId(), lastEventId);
     }
 
-    @GetMapping("/{id}")
-    public ResponseEntity<BlogDto> getBlogById(@PathVariable Long id) {
-        User currentUser = userService.getCurrentUser();
-        Blog blog = blogRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Blog not found"));
+    @GetMapping("/search")
+    public ResponseEntity<List<BlogSummaryDto>> searchBlogs(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "" + BlogSearchService.DEFAULT_LIMIT) int limit) {
+        User currentUser = userService.getCurrentUserReference();
+        return ResponseEntity.ok(blogSearchService.search(currentUser, query, limit));
+    }
+
+    /**
+     * Streams every post as NDJSON (default) or a JSON array. With
+     * {@code ?gzip=true} the body is gzip content-encoded on the fly.
+     */
+    @GetMapping("/export")
+    public void exportBlogs(@RequestParam(defaultValue = "ndjson") String format,
+                            @RequestParam(defaultValue = "false") boolean gzip,
+                            HttpServletResponse response) throws IOException {
+        User currentUser = userService.getCurrentUserReference();
+        BlogExportService.Format exportFormat;
+        try {
+            exportFormat = BlogExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            return;
+        }
+
+        String extension = exportFormat == BlogExportService.Format.NDJSON ? "ndjson" : "json";
+        response.setContentType(exportFormat == BlogExportService.Format.NDJSON
+                ? "application/x-ndjson" : MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"blogs." + extension + "\"");
 
-        // Check if the blog belongs to the current user
-        if (!blog.getUser().getId().equals(currentUser.getId())) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        OutputStream out = response.getOutputStream();
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            out = new GZIPOutputStream(out, 8192);
         }
+        blogExportService.export(currentUser, exportFormat, out);
+    }
 
-        return ResponseEntity.ok(blogService.convertToDto(blog));
+    @GetMapping("/{id}")
+    public ResponseEntity<BlogDto> getBlogById(@PathVariable Long id, WebRequest request) {
+        User currentUser = userService.getCurrentUser();
+        // Served from the blog cache; on a 304 the DTO is never serialised
+        BlogDto blog = blogService.getBlogById(id, currentUser);
+        // ETag only: updatedAt has one-second resolution in Last-Modified, and a second edit within it would 304
+        if (request.checkNotModified(blogEtag(blog, currentUser))) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(blog);
     }
 
     @PostMapping
     public ResponseEntity<BlogDto> createBlog(@RequestBody BlogRequest blogRequest) {
         User currentUser = userService.getCurrentUser();
+        BlogDto blogDto = blogService.createBlog(
+                blogRequest.getTitle(),
+                blogRequest.getContent(),
+                blogRequest.isPublished(),
+                currentUser
+        );
+        return ResponseEntity.status(HttpStatus.CREATED).body(blogDto);
+    }
 
-        Blog blog = new Blog();
-        blog.setTitle(blogRequest.getTitle());
-        blog.setContent(blogRequest.getContent());
-        blog.setPublished(blogRequest.isPublished());
-        blog.setUser(currentUser);
-        blog.setCreatedAt(LocalDateTime.now());
-        blog.setUpdatedAt(LocalDateTime.now());
-
-        Blog savedBlog = blogRepository.save(blog);
-
-        return ResponseEntity.status(HttpStatus.CREATED).body(blogService.convertToDto(savedBlog));
+    /**
+     * Imports newline-delimited {@link BlogRequest} JSON, read as it streams in.
+     * Always 200; per-item outcomes are in the body.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkImportResult> bulkImport(HttpServletRequest request) throws IOException {
+        User currentUser = userService.getCurrentUserReference();
+        return ResponseEntity.ok(blogImportService.importBlogs(currentUser, request.getInputStream()));
     }
 
+    /**
+     * Replaces the blog. The write only applies to the version the
+     * {@code If-Match} ETag names and is answered 412 otherwise. Without
+     * If-Match it is answered 428, since a blind replace would silently undo
+     * any edit made in between; {@code If-Match: *} replaces whatever is there.
+     */
     @PutMapping("/{id}")
-    public ResponseEntity<BlogDto> updateBlog(@PathVariable Long id, @RequestBody BlogRequest blogRequest) {
-        User currentUser = userService.getCurrentUser();
-        Blog blog = blogRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Blog not found"));
-
-        // Check if the blog belongs to the current user
-        if (!blog.getUser().getId().equals(currentUser.getId())) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+    public ResponseEntity<BlogDto> updateBlog(@PathVariable Long id, @RequestBody BlogRequest blogRequest,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            throw new BlogPreconditionRequiredException();
         }
+        Long expectedVersion = parseIfMatch(id, ifMatch);
+        User currentUser = userService.getCurrentUser();
+        BlogDto blogDto = blogService.updateBlog(
+                id,
+                blogRequest.getTitle(),
+                blogRequest.getContent(),
+                blogRequest.isPublished(),
+                expectedVersion,
+                currentUser
+        );
+        return ResponseEntity.ok().eTag(blogEtag(blogDto, currentUser)).body(blogDto);
+    }
 
-        blog.setTitle(blogRequest.getTitle());
-        blog.setContent(blogRequest.getContent());
-        blog.setPublished(blogRequest.isPublished());
-        blog.setUpdatedAt(LocalDateTime.now());
-
-        Blog updatedBlog = blogRepository.save(blog);
-
-        return ResponseEntity.ok(blogService.convertToDto(updatedBlog));
+    // Only the fields present in the body are changed, and only changed columns are written
+    @PatchMapping("/{id}")
+    public ResponseEntity<BlogDto> patchBlog(@PathVariable Long id, @RequestBody BlogPatchRequest patch,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = parseIfMatch(id, ifMatch);
+        User currentUser = userService.getCurrentUser();
+        BlogDto blogDto = blogService.patchBlog(id, patch, expectedVersion, currentUser);
+        return ResponseEntity.ok().eTag(blogEtag(blogDto, currentUser)).body(blogDto);
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteBlog(@PathVariable Long id) {
-        User currentUser = userService.getCurrentUser();
-        Blog blog = blogRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Blog not found"));
+        User currentUser = userService.getCurrentUserReference();
+        blogService.deleteBlog(id, currentUser);
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * Validates a list response against the user's blog count and newest
+     * {@code updatedAt} (one indexed query). On a match the status is set to
+     * 304 and the rows are never loaded. There is no {@code Last-Modified}:
+     * a date alone can't see a delete, or a second edit in the same second.
+     */
+    private boolean listNotModified(WebRequest request, User user, String variant, boolean withAuthor) {
+        BlogListVersion version = blogService.getListVersion(user);
+        long lastModified = version.getLastUpdatedAt() == null ? -1 : toEpochMillis(version.getLastUpdatedAt());
+        String etag = variant + "-u" + user.getId() + "-" + version.getCount() + "-" + lastModified
+                + (withAuthor ? "-" + authorTag(user) : "");
+        return request.checkNotModified(etag);
+    }
 
-        // Check if the blog belongs to the current user
-        if (!blog.getUser().getId().equals(currentUser.getId())) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+    private String blogEtag(BlogDto blog, User author) {
+        return "blog-" + blog.getId() + "-v" + blog.getVersion() + "-" + authorTag(author);
+    }
+
+    /**
+     * Returns the row version named by an {@code If-Match} ETag, or null when
+     * the header is absent or {@code *}. A tag for another blog, or one this
+     * API never issued, can't match and fails the precondition.
+     */
+    private Long parseIfMatch(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        Matcher matcher = BLOG_ETAG.matcher(ifMatch.trim());
+        if (!matcher.matches() || !id.equals(Long.valueOf(matcher.group(1)))) {
+            throw new BlogPreconditionFailedException();
         }
+        return Long.valueOf(matcher.group(2));
+    }
 
-        blogRepository.delete(blog);
+    // Full DTOs embed the author, so a profile edit has to change their validators too
+    private String authorTag(User user) {
+        return Integer.toHexString(Objects.hash(user.getName(), user.getEmail(), user.getBio()));
+    }
 
-        return ResponseEntity.ok().build();
+    private long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    // List endpoints return summaries unless the caller explicitly asks for the body with ?fields=content
+    private boolean includesContent(String fields) {
+        if (fields == null) {
+            return false;
+        }
+        for (String field : fields.split(",")) {
+            if ("content".equalsIgnoreCase(field.trim())) {
+                return true;
+            }
+        }
+        return false;
     }
 }
\ No newline at end of file
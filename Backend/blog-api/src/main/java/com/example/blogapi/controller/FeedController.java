@@ -0,0 +1,36 @@
+package com.example.blogapi.controller;
+
+import com.example.blogapi.dto.CursorPageDto;
+import com.example.blogapi.dto.FeedItemDto;
+import com.example.blogapi.feed.FeedService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/feed")
+public class FeedController {
+
+    // The feed is the same for everyone, so shared caches may hold it briefly
+    private static final CacheControl SHORT_PUBLIC = CacheControl.maxAge(Duration.ofSeconds(5)).cachePublic();
+
+    @Autowired
+    private FeedService feedService;
+
+    @GetMapping
+    public ResponseEntity<CursorPageDto<FeedItemDto>> getFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + FeedService.DEFAULT_LIMIT) int limit) {
+        try {
+            return ResponseEntity.ok().cacheControl(SHORT_PUBLIC).body(feedService.getFeed(cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.example.blogapi.controller;
 
 import com.example.blogapi.dto.PasswordUpdateRequest;
 import com.example.blogapi.dto.UserDto;
+import com.example.blogapi.service.AuthService;
 import com.example.blogapi.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -14,6 +15,9 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private AuthService authService;
+
     @GetMapping("/profile")
     public ResponseEntity<UserDto> getUserProfile() {
         UserDto userDto = userService.getUserProfile();
@@ -37,6 +41,7 @@ public class UserController {
             return ResponseEntity.badRequest().body("Current password is incorrect");
         }
 
-        return ResponseEntity.ok().build();
+        // Every earlier token is now stale, so hand this client a fresh pair
+        return ResponseEntity.ok(authService.issueTokens(userService.getCurrentUser()));
     }
 }
\ No newline at end of file
@@ -8,5 +8,6 @@ import lombok.Data;
 @AllArgsConstructor
 public class AuthResponse {
     private String token;
+    private String refreshToken;
     private UserDto user;
 }
\ No newline at end of file
@@ -12,5 +12,6 @@ public class BlogDto {
     private boolean published;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
     private UserDto user;
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+// src/main/java/com/example/blogapi/dto/BlogListVersion.java
+package com.example.blogapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Row count and newest {@code updatedAt} of a user's blogs. Any create,
+ * update or delete changes at least one of the two, which makes the pair a
+ * cheap validator for list responses. {@code lastUpdatedAt} is null when the
+ * user has no blogs.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlogListVersion {
+    private Long count;
+    private LocalDateTime lastUpdatedAt;
+}
@@ -0,0 +1,12 @@
+// src/main/java/com/example/blogapi/dto/BlogPatchRequest.java
+package com.example.blogapi.dto;
+
+import lombok.Data;
+
+/** Partial update: null fields are left as they are. */
+@Data
+public class BlogPatchRequest {
+    private String title;
+    private String content;
+    private Boolean published;
+}
@@ -0,0 +1,17 @@
+// src/main/java/com/example/blogapi/dto/BlogRowState.java
+package com.example.blogapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/** The columns of a blog a scoped write cannot return: its creation time, version and published flag. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlogRowState {
+    private LocalDateTime createdAt;
+    private Long version;
+    private boolean published;
+}
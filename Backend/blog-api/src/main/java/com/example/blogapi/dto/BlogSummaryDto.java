@@ -0,0 +1,24 @@
+// src/main/java/com/example/blogapi/dto/BlogSummaryDto.java
+package com.example.blogapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * List-view representation of a blog. Built directly by a JPQL constructor
+ * expression, so the body is never read; {@code excerpt} is the bounded
+ * preview stored on the blog row.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlogSummaryDto {
+    private Long id;
+    private String title;
+    private String excerpt;
+    private boolean published;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
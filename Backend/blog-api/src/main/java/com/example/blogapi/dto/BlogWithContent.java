@@ -0,0 +1,17 @@
+// src/main/java/com/example/blogapi/dto/BlogWithContent.java
+package com.example.blogapi.dto;
+
+import com.example.blogapi.model.Blog;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * A blog and its body, read with one outer join on {@code blog_content}. The
+ * body is null for rows the content migration has not copied yet.
+ */
+@Data
+@AllArgsConstructor
+public class BlogWithContent {
+    private Blog blog;
+    private String content;
+}
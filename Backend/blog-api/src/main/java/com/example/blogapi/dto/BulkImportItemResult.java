@@ -0,0 +1,19 @@
+// src/main/java/com/example/blogapi/dto/BulkImportItemResult.java
+package com.example.blogapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one line of a bulk import, by zero-based position in the body.
+ * {@code id} is set for created blogs, {@code error} for rejected ones.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportItemResult {
+    private int index;
+    private Long id;
+    private String error;
+}
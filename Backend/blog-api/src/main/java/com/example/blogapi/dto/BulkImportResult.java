@@ -0,0 +1,14 @@
+// src/main/java/com/example/blogapi/dto/BulkImportResult.java
+package com.example.blogapi.dto;
+
+import lombok.Data;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class BulkImportResult {
+    private int received;
+    private int created;
+    private int failed;
+    private List<BulkImportItemResult> items = new ArrayList<>();
+}
@@ -0,0 +1,14 @@
+// src/main/java/com/example/blogapi/dto/CursorPageDto.java
+package com.example.blogapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class CursorPageDto<T> {
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasMore;
+}
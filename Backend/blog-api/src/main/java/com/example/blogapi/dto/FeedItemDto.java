@@ -0,0 +1,23 @@
+// src/main/java/com/example/blogapi/dto/FeedItemDto.java
+package com.example.blogapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * A published post in the public feed. Carries only what anyone may see: no
+ * body and no author email.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedItemDto {
+    private Long id;
+    private String title;
+    private Long authorId;
+    private String authorName;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,9 @@
+// src/main/java/com/example/blogapi/dto/RefreshTokenRequest.java
+package com.example.blogapi.dto;
+
+import lombok.Data;
+
+@Data
+public class RefreshTokenRequest {
+    private String refreshToken;
+}
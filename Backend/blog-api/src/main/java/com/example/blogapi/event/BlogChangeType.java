@@ -0,0 +1,7 @@
+package com.example.blogapi.event;
+
+public enum BlogChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,26 @@
+// src/main/java/com/example/blogapi/event/BlogChangedEvent.java
+package com.example.blogapi.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * Published by {@code BlogService} on every blog write. Listeners that keep
+ * in-memory state readers expect to be current (caches, feed, event streams)
+ * react after the transaction commits; {@code OutboxWriter} records it in the
+ * same transaction for slower work such as search indexing. Title and content
+ * are null for {@link BlogChangeType#DELETED}.
+ */
+@Data
+@AllArgsConstructor
+public class BlogChangedEvent {
+    private BlogChangeType type;
+    private Long blogId;
+    private Long userId;
+    private String title;
+    private String content;
+    private boolean published;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
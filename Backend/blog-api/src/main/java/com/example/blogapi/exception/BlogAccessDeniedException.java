@@ -0,0 +1,7 @@
+package com.example.blogapi.exception;
+
+public class BlogAccessDeniedException extends RuntimeException {
+    public BlogAccessDeniedException(String message) {
+        super(message);
+    }
+}
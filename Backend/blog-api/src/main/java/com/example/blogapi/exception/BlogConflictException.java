@@ -0,0 +1,8 @@
+package com.example.blogapi.exception;
+
+/** Another write changed the blog while this one was being applied. */
+public class BlogConflictException extends RuntimeException {
+    public BlogConflictException() {
+        super("Blog was modified concurrently");
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.blogapi.exception;
+
+public class BlogNotFoundException extends RuntimeException {
+    public BlogNotFoundException() {
+        super("Blog not found");
+    }
+}
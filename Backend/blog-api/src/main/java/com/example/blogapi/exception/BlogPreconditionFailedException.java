@@ -0,0 +1,8 @@
+package com.example.blogapi.exception;
+
+/** The blog no longer has the version the client's If-Match asked for. */
+public class BlogPreconditionFailedException extends RuntimeException {
+    public BlogPreconditionFailedException() {
+        super("Blog version does not match If-Match");
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.blogapi.exception;
+
+/** A full replace was sent without If-Match, so it could silently undo someone else's edit. */
+public class BlogPreconditionRequiredException extends RuntimeException {
+    public BlogPreconditionRequiredException() {
+        super("Blog replace requires If-Match");
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.blogapi.exception;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Maps service-layer exceptions to the status codes the controllers used to
+ * return inline, without going through the servlet error dispatch.
+ */
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    @ExceptionHandler(BlogNotFoundException.class)
+    public ResponseEntity<?> handleBlogNotFound(BlogNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+    }
+
+    @ExceptionHandler(BlogAccessDeniedException.class)
+    public ResponseEntity<?> handleBlogAccessDenied(BlogAccessDeniedException ex) {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+    }
+
+    @ExceptionHandler(BlogPreconditionFailedException.class)
+    public ResponseEntity<?> handleBlogPreconditionFailed(BlogPreconditionFailedException ex) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+    }
+
+    @ExceptionHandler(BlogPreconditionRequiredException.class)
+    public ResponseEntity<?> handleBlogPreconditionRequired(BlogPreconditionRequiredException ex) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED).build();
+    }
+
+    // Version checks on entity flushes (PATCH) surface as Spring's optimistic locking exception
+    @ExceptionHandler({BlogConflictException.class, ObjectOptimisticLockingFailureException.class})
+    public ResponseEntity<?> handleBlogConflict(RuntimeException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<?> handleTooManyRequests(TooManyRequestsException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .build();
+    }
+}
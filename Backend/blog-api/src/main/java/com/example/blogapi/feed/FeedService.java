@@ -0,0 +1,114 @@
+package com.example.blogapi.feed;
+
+import com.example.blogapi.dto.CursorPageDto;
+import com.example.blogapi.dto.FeedItemDto;
+import com.example.blogapi.event.BlogChangeType;
+import com.example.blogapi.event.BlogChangedEvent;
+import com.example.blogapi.repository.BlogRepository;
+import com.example.blogapi.repository.UserRepository;
+import com.example.blogapi.util.BlogCursor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * The public feed of published posts from every author, newest first. Pages
+ * come from {@link FeedTimeline} when it covers them and from the
+ * {@code (published, created_at, id)} index otherwise, i.e. for cursors deep
+ * into the history or before the timeline has loaded.
+ */
+@Service
+public class FeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FeedService.class);
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    @Autowired
+    private FeedTimeline feedTimeline;
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.feed.capacity:1000}")
+    private int capacity;
+
+    private Counter memoryReads;
+
+    private Counter databaseReads;
+
+    @PostConstruct
+    public void initCounters() {
+        memoryReads = Counter.builder("blog.feed.reads").tag("source", "memory")
+                .description("Feed pages served").register(meterRegistry);
+        databaseReads = Counter.builder("blog.feed.reads").tag("source", "database")
+                .description("Feed pages served").register(meterRegistry);
+    }
+
+    public CursorPageDto<FeedItemDto> getFeed(String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_LIMIT));
+        BlogCursor after = cursor == null || cursor.isBlank() ? null : BlogCursor.decode(cursor);
+
+        // One extra item tells whether there is a next page
+        List<FeedItemDto> rows = feedTimeline.page(after, pageSize + 1);
+        if (rows != null) {
+            memoryReads.increment();
+        } else {
+            databaseReads.increment();
+            rows = after == null
+                    ? blogRepository.findFirstFeedPage(PageRequest.of(0, pageSize + 1))
+                    : blogRepository.findFeedPageAfter(after.getCreatedAt(), after.getId(), PageRequest.of(0, pageSize + 1));
+        }
+
+        if (rows.size() <= pageSize) {
+            return new CursorPageDto<>(rows, null, false);
+        }
+        List<FeedItemDto> items = rows.subList(0, pageSize);
+        FeedItemDto last = items.get(pageSize - 1);
+        return new CursorPageDto<>(items, new BlogCursor(last.getCreatedAt(), last.getId()).encode(), true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadTimeline() {
+        long started = System.currentTimeMillis();
+        feedTimeline.load(() -> blogRepository.findFirstFeedPage(PageRequest.of(0, capacity)));
+        logger.info("Loaded the public feed timeline in {} ms", System.currentTimeMillis() - started);
+    }
+
+    // Listeners run after commit in whatever order transactions finish; the timeline orders them by updatedAt
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBlogChanged(BlogChangedEvent event) {
+        LocalDateTime version = event.getUpdatedAt().truncatedTo(ChronoUnit.MICROS);
+        if (event.getType() == BlogChangeType.DELETED || !event.isPublished()) {
+            feedTimeline.remove(event.getBlogId(), version);
+            return;
+        }
+        String authorName = feedTimeline.authorName(event.getUserId());
+        if (authorName == null) {
+            authorName = userRepository.findNameById(event.getUserId()).orElse(null);
+        }
+        // At the column's precision, so a cursor handed out from memory lines up with the index on fallback
+        feedTimeline.put(new FeedItemDto(event.getBlogId(), event.getTitle(), event.getUserId(), authorName,
+                event.getCreatedAt().truncatedTo(ChronoUnit.MICROS), version));
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.blogapi.feed;
+
+import com.example.blogapi.dto.FeedItemDto;
+import com.example.blogapi.util.BlogCursor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * The newest {@code app.feed.capacity} published posts, kept in feed order
+ * (newest first, by {@code (createdAt, id)}). Everything from the newest post
+ * down to {@code horizon} is guaranteed to be here, so a page that stays above
+ * it is served without the database; a page reaching past it returns null and
+ * the caller queries instead. Reads are lock-free; writes are serialised.
+ *
+ * Changes may arrive out of order, so each is versioned by the post's
+ * {@code updatedAt}: one older than what the timeline already holds for that
+ * post is dropped. Removed posts leave a tombstone for
+ * {@code app.feed.tombstone-ttl-seconds}, so a late publish can't bring back
+ * a post that was unpublished or deleted after it.
+ */
+@Component
+public class FeedTimeline implements MeterBinder {
+
+    private final ConcurrentSkipListMap<FeedKey, FeedItemDto> items = new ConcurrentSkipListMap<>();
+    private final Map<Long, FeedKey> keysById = new ConcurrentHashMap<>();
+    // Names of authors seen in the feed, so publishing another post doesn't need a user lookup
+    private final Map<Long, String> authorNames = new ConcurrentHashMap<>();
+    // Removed post ids in removal order, with the version of the change that removed them
+    private final LinkedHashMap<Long, Tombstone> tombstones = new LinkedHashMap<>();
+
+    @Value("${app.feed.capacity:1000}")
+    private int capacity;
+
+    @Value("${app.feed.tombstone-ttl-seconds:300}")
+    private long tombstoneTtlSeconds;
+
+    // Oldest post the buffer is complete down to; null when it holds every published post
+    private volatile FeedKey horizon;
+
+    private volatile boolean loaded;
+
+    /**
+     * Up to {@code count} posts after {@code after} (from the top when null),
+     * or null if the buffer isn't loaded yet or can't fill the page.
+     */
+    public List<FeedItemDto> page(BlogCursor after, int count) {
+        if (!loaded) {
+            return null;
+        }
+        NavigableMap<FeedKey, FeedItemDto> tail = after == null
+                ? items
+                : items.tailMap(new FeedKey(after.getCreatedAt(), after.getId()), false);
+        List<FeedItemDto> page = new ArrayList<>(count);
+        for (FeedItemDto item : tail.values()) {
+            page.add(item);
+            if (page.size() == count) {
+                return page;
+            }
+        }
+        // Running out is only the end of the feed if nothing was ever evicted
+        return horizon == null ? page : null;
+    }
+
+    /**
+     * Replaces the contents with {@code newest}, the first {@code capacity}
+     * posts of the feed. The query runs under the write lock, so a change
+     * committed meanwhile is applied after it rather than overwritten by it.
+     */
+    public synchronized void load(Supplier<List<FeedItemDto>> newest) {
+        List<FeedItemDto> rows = newest.get();
+        items.clear();
+        keysById.clear();
+        horizon = null;
+        for (FeedItemDto row : rows) {
+            insert(row);
+        }
+        horizon = rows.size() < capacity ? null : items.lastKey();
+        loaded = true;
+    }
+
+    /** Adds or replaces a post, unless a newer change to it has already been applied. */
+    public synchronized void put(FeedItemDto item) {
+        if (!loaded) {
+            // The initial load reads it from the database
+            return;
+        }
+        expireTombstones();
+        LocalDateTime version = item.getUpdatedAt();
+        Tombstone tombstone = tombstones.get(item.getId());
+        if (tombstone != null && !version.isAfter(tombstone.version)) {
+            return;
+        }
+        FeedKey current = keysById.get(item.getId());
+        if (current != null && version.isBefore(items.get(current).getUpdatedAt())) {
+            return;
+        }
+        tombstones.remove(item.getId());
+        removeEntry(item.getId());
+        FeedKey key = new FeedKey(item.getCreatedAt(), item.getId());
+        FeedKey oldest = horizon;
+        if (oldest != null && key.compareTo(oldest) > 0) {
+            // Older than the buffer covers; pages that far back are queried anyway
+            return;
+        }
+        insert(item);
+        while (keysById.size() > capacity) {
+            FeedItemDto evicted = items.pollLastEntry().getValue();
+            keysById.remove(evicted.getId());
+            horizon = items.lastKey();
+        }
+    }
+
+    /**
+     * Removes a post that was unpublished or deleted by the change at
+     * {@code version}, unless the post held is newer than that change.
+     */
+    public synchronized void remove(Long blogId, LocalDateTime version) {
+        expireTombstones();
+        FeedKey current = keysById.get(blogId);
+        if (current != null && version.isBefore(items.get(current).getUpdatedAt())) {
+            return;
+        }
+        removeEntry(blogId);
+        Tombstone previous = tombstones.remove(blogId);
+        LocalDateTime newest = previous != null && previous.version.isAfter(version) ? previous.version : version;
+        tombstones.put(blogId, new Tombstone(newest, System.nanoTime() + TimeUnit.SECONDS.toNanos(tombstoneTtlSeconds)));
+    }
+
+    public synchronized void renameAuthor(Long authorId, String name) {
+        if (authorNames.replace(authorId, name) == null) {
+            return;
+        }
+        for (Map.Entry<FeedKey, FeedItemDto> entry : items.entrySet()) {
+            FeedItemDto item = entry.getValue();
+            if (item.getAuthorId().equals(authorId)) {
+                entry.setValue(new FeedItemDto(item.getId(), item.getTitle(), authorId, name,
+                        item.getCreatedAt(), item.getUpdatedAt()));
+            }
+        }
+    }
+
+    public String authorName(Long authorId) {
+        return authorNames.get(authorId);
+    }
+
+    private void insert(FeedItemDto item) {
+        FeedKey key = new FeedKey(item.getCreatedAt(), item.getId());
+        items.put(key, item);
+        keysById.put(item.getId(), key);
+        authorNames.put(item.getAuthorId(), item.getAuthorName());
+    }
+
+    // Oldest first, since re-removing an id moves it to the end
+    private void expireTombstones() {
+        long now = System.nanoTime();
+        Iterator<Tombstone> oldest = tombstones.values().iterator();
+        while (oldest.hasNext() && oldest.next().expiresAt - now <= 0) {
+            oldest.remove();
+        }
+    }
+
+    private void removeEntry(Long blogId) {
+        FeedKey key = keysById.remove(blogId);
+        if (key != null) {
+            items.remove(key);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("blog.feed.buffered", keysById, Map::size)
+                .description("Published posts held in the in-memory feed")
+                .register(registry);
+    }
+
+    private static final class Tombstone {
+        private final LocalDateTime version;
+        private final long expiresAt;
+
+        Tombstone(LocalDateTime version, long expiresAt) {
+            this.version = version;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    // Sorts newest first, matching ORDER BY created_at DESC, id DESC
+    private static final class FeedKey implements Comparable<FeedKey> {
+        private final LocalDateTime createdAt;
+        private final long id;
+
+        FeedKey(LocalDateTime createdAt, long id) {
+            this.createdAt = createdAt;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(FeedKey other) {
+            int byTime = other.createdAt.compareTo(createdAt);
+            return byTime != 0 ? byTime : Long.compare(other.id, id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof FeedKey && compareTo((FeedKey) o) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(id);
+        }
+    }
+}
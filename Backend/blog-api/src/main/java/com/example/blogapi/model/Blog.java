@@ -5,13 +5,22 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import com.example.blogapi.util.BlogExcerpt;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDateTime;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "blogs")
+// PATCH edits flush only the columns they touch
+@DynamicUpdate
+@Table(name = "blogs", indexes = {
+        @Index(name = "idx_blogs_user_created_id", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_blogs_user_updated", columnList = "user_id, updated_at"),
+        // Public feed: published posts across all users, newest first
+        @Index(name = "idx_blogs_published_created_id", columnList = "published, created_at, id")
+})
 public class Blog {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -20,17 +29,24 @@ public class Blog {
     @Column(nullable = false)
     private String title;
 
-    @Column(nullable = false, columnDefinition = "TEXT")
-    private String content;
+    // The body lives in blog_content (see BlogContent), so blog rows stay small
+    // and carry only a bounded preview of it for list views
+    @Column(length = BlogExcerpt.MAX_LENGTH)
+    private String excerpt;
 
     private boolean published = false;
 
-    @Column(nullable = false)
+    @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
-    @Column(nullable = false)
+    @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    // Optimistic lock: entity flushes check and bump it, and the scoped bulk UPDATE bumps it by hand
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
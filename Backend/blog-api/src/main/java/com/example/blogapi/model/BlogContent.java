@@ -0,0 +1,36 @@
+// src/main/java/com/example/blogapi/model/BlogContent.java
+package com.example.blogapi.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * Body of a blog, kept out of the {@code blogs} table so that scans, counts
+ * and list queries over blog metadata never drag post bodies through the
+ * buffer pool. Shares the blog's primary key and is deleted with it by the
+ * foreign key, so a blog DELETE stays one statement.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "blog_content")
+public class BlogContent {
+    @Id
+    @Column(name = "blog_id")
+    private Long blogId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "blog_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Blog blog;
+
+    @Convert(converter = BlogContentConverter.class)
+    @Column(nullable = false, columnDefinition = "MEDIUMBLOB")
+    private String content;
+}
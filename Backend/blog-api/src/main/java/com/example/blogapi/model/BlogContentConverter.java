@@ -0,0 +1,113 @@
+package com.example.blogapi.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Stores a blog body as a tagged byte array: plain UTF-8 for short posts, and
+ * a zlib stream once the body is longer than
+ * {@code app.blog.content.compress-threshold} bytes and deflating actually
+ * saves space. Hibernate obtains converters through Spring, so the settings
+ * come from configuration.
+ */
+@Component
+@Converter
+public class BlogContentConverter implements AttributeConverter<String, byte[]> {
+
+    static final byte PLAIN = 0;
+    static final byte DEFLATED = 1;
+
+    // Tag byte plus the inflated length, so decoding allocates the result once
+    private static final int DEFLATED_HEADER = 5;
+
+    @Value("${app.blog.content.compress-threshold:1024}")
+    private int compressThreshold = 1024;
+
+    @Value("${app.blog.content.compression-level:6}")
+    private int compressionLevel = 6;
+
+    @Override
+    public byte[] convertToDatabaseColumn(String content) {
+        if (content == null) {
+            return null;
+        }
+        byte[] utf8 = content.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length > compressThreshold) {
+            byte[] deflated = deflate(utf8);
+            if (deflated != null) {
+                return deflated;
+            }
+        }
+        byte[] stored = new byte[utf8.length + 1];
+        stored[0] = PLAIN;
+        System.arraycopy(utf8, 0, stored, 1, utf8.length);
+        return stored;
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] stored) {
+        if (stored == null) {
+            return null;
+        }
+        switch (stored[0]) {
+            case PLAIN:
+                return new String(stored, 1, stored.length - 1, StandardCharsets.UTF_8);
+            case DEFLATED:
+                return new String(inflate(stored), StandardCharsets.UTF_8);
+            default:
+                throw new IllegalStateException("Unknown blog content encoding " + stored[0]);
+        }
+    }
+
+    // Null when the compressed form would not be smaller than the plain one
+    private byte[] deflate(byte[] utf8) {
+        Deflater deflater = new Deflater(compressionLevel);
+        try {
+            deflater.setInput(utf8);
+            deflater.finish();
+            byte[] out = new byte[utf8.length];
+            int length = DEFLATED_HEADER;
+            while (!deflater.finished()) {
+                if (length == out.length) {
+                    return null;
+                }
+                length += deflater.deflate(out, length, out.length - length);
+            }
+            out[0] = DEFLATED;
+            ByteBuffer.wrap(out, 1, 4).putInt(utf8.length);
+            return Arrays.copyOf(out, length);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private byte[] inflate(byte[] stored) {
+        byte[] utf8 = new byte[ByteBuffer.wrap(stored, 1, 4).getInt()];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(stored, DEFLATED_HEADER, stored.length - DEFLATED_HEADER);
+            int length = 0;
+            while (length < utf8.length) {
+                int read = inflater.inflate(utf8, length, utf8.length - length);
+                if (read == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated blog content");
+                }
+                length += read;
+            }
+            return utf8;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt blog content", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+// src/main/java/com/example/blogapi/model/OutboxEvent.java
+package com.example.blogapi.model;
+
+import com.example.blogapi.event.BlogChangeType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * A blog change recorded in the same transaction as the change itself, for the
+ * outbox dispatcher to hand to asynchronous handlers once it has committed.
+ * Rows only say what changed; handlers read the current state themselves.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "blog_outbox")
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 16)
+    private BlogChangeType type;
+
+    @Column(name = "blog_id", nullable = false)
+    private Long blogId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,26 @@
+// src/main/java/com/example/blogapi/model/OutboxOffset.java
+package com.example.blogapi.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * How far one outbox handler has got: every event up to {@code lastId} has been
+ * handled (or given up on). Kept per handler so each progresses and retries
+ * independently, and picks up where it left off after a restart.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "blog_outbox_offsets")
+public class OutboxOffset {
+    @Id
+    @Column(length = 64)
+    private String handler;
+
+    @Column(name = "last_id", nullable = false)
+    private long lastId;
+}
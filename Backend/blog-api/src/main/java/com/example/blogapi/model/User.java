@@ -29,6 +29,10 @@ public class User {
 
     private String bio;
 
+    // Bumped on password change; tokens issued under an older version stop working
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion;
+
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Blog> blogs = new ArrayList<>();
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+// src/main/java/com/example/blogapi/model/UserBlogStats.java
+package com.example.blogapi.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Per-user post counters maintained incrementally by the blog write paths,
+ * so reading stats is a primary-key lookup instead of counting rows.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "user_blog_stats")
+public class UserBlogStats {
+    @Id
+    private Long userId;
+
+    private long totalBlogs;
+
+    private long publishedBlogs;
+
+    private long draftBlogs;
+}
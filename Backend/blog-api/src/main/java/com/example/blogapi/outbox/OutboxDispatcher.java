@@ -0,0 +1,214 @@
+package com.example.blogapi.outbox;
+
+import com.example.blogapi.model.OutboxEvent;
+import com.example.blogapi.model.OutboxOffset;
+import com.example.blogapi.repository.OutboxEventRepository;
+import com.example.blogapi.repository.OutboxOffsetRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Feeds {@code blog_outbox} to every {@link OutboxHandler} off the request
+ * path. Each handler has a stored offset (the last id it finished) and reads
+ * forward from it in batches of {@code app.outbox.batch-size}, so progress
+ * survives restarts and one handler's failures don't hold up the others.
+ *
+ * When a batch throws, its events are retried one at a time with exponential
+ * backoff, which isolates the one that fails; after {@code max-attempts} that
+ * event is logged, counted in {@code blog.outbox.dead} and skipped.
+ *
+ * Ids are allocated before commit, so a missing id may belong to a transaction
+ * that is still committing. Delivery stops at such a gap until the row after
+ * it is {@code gap-timeout-ms} old; by then the missing id belongs to a
+ * rollback and is passed over.
+ */
+@Component
+public class OutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    @Autowired
+    private List<OutboxHandler> handlers;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxOffsetRepository outboxOffsetRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${app.outbox.retry-backoff-ms:500}")
+    private long retryBackoffMillis;
+
+    @Value("${app.outbox.max-retry-backoff-ms:60000}")
+    private long maxRetryBackoffMillis;
+
+    @Value("${app.outbox.gap-timeout-ms:10000}")
+    private long gapTimeoutMillis;
+
+    @Value("${app.outbox.retention-hours:24}")
+    private long retentionHours;
+
+    // Only touched by the dispatching thread
+    private final Map<String, HandlerState> states = new HashMap<>();
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:250}")
+    public synchronized void dispatch() {
+        for (OutboxHandler handler : handlers) {
+            HandlerState state = states.computeIfAbsent(handler.getName(), this::loadState);
+            // Keep going while full batches come back, so a backlog drains without waiting a poll interval per batch
+            while (deliverBatch(handler, state)) {
+            }
+        }
+    }
+
+    // Returns true when there may be more to deliver right away
+    private boolean deliverBatch(OutboxHandler handler, HandlerState state) {
+        long now = System.currentTimeMillis();
+        if (now < state.retryAt) {
+            return false;
+        }
+        int limit = state.offset < state.isolateThrough ? 1 : batchSize;
+        List<OutboxEvent> batch = committedPrefix(
+                outboxEventRepository.findAfter(state.offset, PageRequest.of(0, limit)), state.offset);
+        if (batch.isEmpty()) {
+            return false;
+        }
+
+        try {
+            handler.handle(batch);
+            state.delivered.increment(batch.size());
+            LocalDateTime handledAt = LocalDateTime.now();
+            for (OutboxEvent event : batch) {
+                state.delay.record(Duration.between(event.getCreatedAt(), handledAt));
+            }
+        } catch (RuntimeException e) {
+            state.failures.increment();
+            state.isolateThrough = Math.max(state.isolateThrough, batch.get(batch.size() - 1).getId());
+            // Attempts are counted per event, so a failed batch only switches to one at a time
+            if (batch.size() > 1 || ++state.attempts < maxAttempts) {
+                long backoff = Math.min(maxRetryBackoffMillis, retryBackoffMillis << Math.min(Math.max(state.attempts - 1, 0), 20));
+                state.retryAt = now + backoff;
+                logger.warn("Outbox handler {} failed on events {}..{} (attempt {}), retrying in {} ms",
+                        handler.getName(), batch.get(0).getId(), batch.get(batch.size() - 1).getId(),
+                        state.attempts, backoff, e);
+                return false;
+            }
+            logger.error("Outbox handler {} gave up on event {} after {} attempts",
+                    handler.getName(), batch.get(0), state.attempts, e);
+            state.dead.increment();
+        }
+
+        long lastId = batch.get(batch.size() - 1).getId();
+        transactionTemplate.executeWithoutResult(status -> outboxOffsetRepository.updateLastId(handler.getName(), lastId));
+        state.offset = lastId;
+        state.attempts = 0;
+        state.retryAt = 0;
+        return batch.size() == limit;
+    }
+
+    private List<OutboxEvent> committedPrefix(List<OutboxEvent> rows, long offset) {
+        LocalDateTime gapDeadline = LocalDateTime.now().minusNanos(gapTimeoutMillis * 1_000_000);
+        List<OutboxEvent> prefix = new ArrayList<>(rows.size());
+        long expected = offset + 1;
+        for (OutboxEvent row : rows) {
+            if (row.getId() != expected && row.getCreatedAt().isAfter(gapDeadline)) {
+                break;
+            }
+            prefix.add(row);
+            expected = row.getId() + 1;
+        }
+        return prefix;
+    }
+
+    // A handler seen for the first time starts at the current end; history is what its own startup load is for
+    private HandlerState loadState(String name) {
+        long offset = outboxOffsetRepository.findById(name)
+                .map(OutboxOffset::getLastId)
+                .orElseGet(() -> {
+                    long end = outboxEventRepository.findMaxId();
+                    outboxOffsetRepository.save(new OutboxOffset(name, end));
+                    return end;
+                });
+        return new HandlerState(name, offset, meterRegistry);
+    }
+
+    /**
+     * Deletes events every handler is past, once they are older than
+     * {@code app.outbox.retention-hours}; the retention leaves a window for
+     * looking into what happened.
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.cleanup-interval-ms:600000}")
+    public synchronized void purgeHandled() {
+        if (states.size() < handlers.size()) {
+            return;
+        }
+        long handledThrough = states.values().stream().mapToLong(state -> state.offset).min().orElse(0);
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        Integer deleted = transactionTemplate.execute(status ->
+                outboxEventRepository.deleteHandledBefore(handledThrough, cutoff));
+        if (deleted != null && deleted > 0) {
+            logger.info("Purged {} handled outbox events", deleted);
+        }
+    }
+
+    private static final class HandlerState {
+        private long offset;
+        private int attempts;
+        // Events up to here go one per batch, after a failure somewhere among them
+        private long isolateThrough;
+        private long retryAt;
+        private final Counter delivered;
+        private final Counter failures;
+        private final Counter dead;
+        private final Timer delay;
+
+        HandlerState(String name, long offset, MeterRegistry registry) {
+            this.offset = offset;
+            this.delivered = Counter.builder("blog.outbox.delivered").tag("handler", name)
+                    .description("Outbox events handled").register(registry);
+            this.failures = Counter.builder("blog.outbox.failures").tag("handler", name)
+                    .description("Failed outbox handler attempts").register(registry);
+            this.dead = Counter.builder("blog.outbox.dead").tag("handler", name)
+                    .description("Outbox events skipped after the last retry").register(registry);
+            this.delay = Timer.builder("blog.outbox.delay").tag("handler", name)
+                    .description("Time from an outbox event being written to being handled").register(registry);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.blogapi.outbox;
+
+import com.example.blogapi.model.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Asynchronous work triggered by blog writes. Every bean implementing this is
+ * fed the outbox in id order by {@link OutboxDispatcher}, in batches.
+ *
+ * Delivery is at least once: a batch that throws is retried, and one that
+ * completed just before a crash may be handed over again. Handlers should
+ * therefore read the current state rather than trust the order of events.
+ */
+public interface OutboxHandler {
+
+    /** Stable name its progress is stored under; renaming it starts from the current end of the outbox. */
+    String getName();
+
+    void handle(List<OutboxEvent> events);
+}
@@ -0,0 +1,72 @@
+package com.example.blogapi.outbox;
+
+import com.example.blogapi.event.BlogChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records every {@link BlogChangedEvent} in {@code blog_outbox}, inside the
+ * transaction that published it, so the outbox holds exactly the committed
+ * changes. A transaction's events are collected and written as one JDBC batch
+ * just before it commits. This also means outbox ids are allocated moments
+ * before the commit, which keeps the window in which a lower id can still
+ * appear behind a higher one (see {@link OutboxDispatcher}) very short.
+ */
+@Component
+public class OutboxWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO blog_outbox (event_type, blog_id, user_id, created_at) " +
+            "VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Runs synchronously on the publishing thread, so inside its transaction
+    @EventListener
+    public void onBlogChanged(BlogChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            insert(List.of(event));
+            return;
+        }
+        PendingEvents pending = (PendingEvents) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingEvents();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.events.add(event);
+    }
+
+    private void insert(List<BlogChangedEvent> events) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (statement, event) -> {
+            statement.setString(1, event.getType().name());
+            statement.setLong(2, event.getBlogId());
+            statement.setLong(3, event.getUserId());
+            statement.setTimestamp(4, now);
+        });
+    }
+
+    private final class PendingEvents implements TransactionSynchronization {
+        private final List<BlogChangedEvent> events = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            insert(events);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(OutboxWriter.this);
+        }
+    }
+}
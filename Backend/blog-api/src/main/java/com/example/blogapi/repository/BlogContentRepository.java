@@ -0,0 +1,14 @@
+package com.example.blogapi.repository;
+
+import com.example.blogapi.model.BlogContent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface BlogContentRepository extends JpaRepository<BlogContent, Long> {
+
+    // Only issued after the blog's own scoped UPDATE matched, which has already checked ownership
+    @Modifying
+    @Query("UPDATE BlogContent c SET c.content = ?2 WHERE c.blogId = ?1")
+    int updateContent(Long blogId, String content);
+}
@@ -1,23 +1,118 @@
 package com.example.blogapi.repository;
 
+import com.example.blogapi.dto.BlogListVersion;
+import com.example.blogapi.dto.BlogRowState;
+import com.example.blogapi.dto.BlogSummaryDto;
+import com.example.blogapi.dto.BlogWithContent;
+import com.example.blogapi.dto.FeedItemDto;
 import com.example.blogapi.model.Blog;
 import com.example.blogapi.model.User;
+import com.example.blogapi.search.BlogSearchDocument;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.domain.Pageable;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface BlogRepository extends JpaRepository<Blog, Long> {
-    List<Blog> findByUserOrderByCreatedAtDesc(User user);
+public interface BlogRepository extends JpaRepository<Blog, Long>, BlogScanRepository {
 
-    @Query("SELECT b FROM Blog b WHERE b.user = ?1 ORDER BY b.createdAt DESC")
-    List<Blog> findRecentByUser(User user, Pageable pageable);
+    // Full reads join the body from blog_content; everything else only ever touches the narrow blogs rows.
+    String WITH_CONTENT_SELECT = "SELECT new com.example.blogapi.dto.BlogWithContent(b, c.content) " +
+            "FROM Blog b LEFT JOIN BlogContent c ON c.blogId = b.id ";
 
-    default List<Blog> findRecentByUser(User user) {
-        return findRecentByUser(user, org.springframework.data.domain.PageRequest.of(0, 5));
+    @Query(WITH_CONTENT_SELECT + "WHERE b.user = ?1 ORDER BY b.createdAt DESC")
+    List<BlogWithContent> findWithContentByUser(User user);
+
+    // Ownership-scoped statements: a row that isn't the caller's simply doesn't match, in the same PK lookup.
+    @Query(WITH_CONTENT_SELECT + "WHERE b.id = ?1 AND b.user.id = ?2")
+    Optional<BlogWithContent> findWithContentByIdAndUserId(Long id, Long userId);
+
+    // A non-null expectedVersion makes the update conditional on the optimistic-lock version.
+    @Modifying
+    @Query("UPDATE Blog b SET b.title = ?4, b.excerpt = ?5, b.published = ?6, b.updatedAt = ?7, " +
+            "b.version = b.version + 1 WHERE b.id = ?1 AND b.user.id = ?2 AND (?3 IS NULL OR b.version = ?3)")
+    int updateByIdAndUserId(Long id, Long userId, Long expectedVersion, String title, String excerpt,
+                            boolean published, LocalDateTime updatedAt);
+
+    @Modifying
+    @Query("DELETE FROM Blog b WHERE b.id = ?1 AND b.user.id = ?2")
+    int deleteByIdAndUserId(Long id, Long userId);
+
+    // Locks the caller's row until commit, so the published flag read here is the one the write replaces
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.example.blogapi.dto.BlogRowState(b.createdAt, b.version, b.published) " +
+            "FROM Blog b WHERE b.id = ?1 AND b.user.id = ?2")
+    Optional<BlogRowState> findRowStateForUpdate(Long id, Long userId);
+
+    // Only consulted after a scoped statement matched nothing, to tell 404 from 403
+    @Query("SELECT b.user.id FROM Blog b WHERE b.id = ?1")
+    Optional<Long> findOwnerIdById(Long id);
+
+    @Query("SELECT new com.example.blogapi.dto.BlogRowState(b.createdAt, b.version, b.published) FROM Blog b WHERE b.id = ?1")
+    Optional<BlogRowState> findRowStateById(Long id);
+
+    @Query(WITH_CONTENT_SELECT + "WHERE b.user = ?1 ORDER BY b.createdAt DESC")
+    List<BlogWithContent> findRecentWithContentByUser(User user, Pageable pageable);
+
+    default List<BlogWithContent> findRecentWithContentByUser(User user) {
+        return findRecentWithContentByUser(user, org.springframework.data.domain.PageRequest.of(0, 5));
+    }
+
+    // Keyset pages walk the (user_id, created_at, id) index, so page N costs the same as page 1.
+    @Query(WITH_CONTENT_SELECT + "WHERE b.user = ?1 ORDER BY b.createdAt DESC, b.id DESC")
+    List<BlogWithContent> findFirstPageWithContentByUser(User user, Pageable pageable);
+
+    @Query(WITH_CONTENT_SELECT + "WHERE b.user = ?1 AND (b.createdAt < ?2 OR (b.createdAt = ?2 AND b.id < ?3)) " +
+            "ORDER BY b.createdAt DESC, b.id DESC")
+    List<BlogWithContent> findPageWithContentByUserAfter(User user, LocalDateTime createdAt, Long id, Pageable pageable);
+
+    // Summary projections select only metadata columns and leave the TEXT body on disk.
+    String SUMMARY_SELECT = "SELECT new com.example.blogapi.dto.BlogSummaryDto(" +
+            "b.id, b.title, b.excerpt, b.published, b.createdAt, b.updatedAt) FROM Blog b ";
+
+    @Query(SUMMARY_SELECT + "WHERE b.user = ?1 ORDER BY b.createdAt DESC")
+    List<BlogSummaryDto> findSummariesByUser(User user);
+
+    @Query(SUMMARY_SELECT + "WHERE b.user = ?1 ORDER BY b.createdAt DESC")
+    List<BlogSummaryDto> findRecentSummariesByUser(User user, Pageable pageable);
+
+    default List<BlogSummaryDto> findRecentSummariesByUser(User user) {
+        return findRecentSummariesByUser(user, org.springframework.data.domain.PageRequest.of(0, 5));
     }
 
-    long countByUserAndPublishedTrue(User user);
+    @Query(SUMMARY_SELECT + "WHERE b.user = ?1 ORDER BY b.createdAt DESC, b.id DESC")
+    List<BlogSummaryDto> findFirstSummaryPageByUser(User user, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE b.user = ?1 AND (b.createdAt < ?2 OR (b.createdAt = ?2 AND b.id < ?3)) " +
+            "ORDER BY b.createdAt DESC, b.id DESC")
+    List<BlogSummaryDto> findSummaryPageByUserAfter(User user, LocalDateTime createdAt, Long id, Pageable pageable);
+
+    // Public feed pages over the (published, created_at, id) index; the author name comes from the same join.
+    String FEED_SELECT = "SELECT new com.example.blogapi.dto.FeedItemDto(" +
+            "b.id, b.title, u.id, u.name, b.createdAt, b.updatedAt) FROM Blog b JOIN b.user u WHERE b.published = true ";
+
+    @Query(FEED_SELECT + "ORDER BY b.createdAt DESC, b.id DESC")
+    List<FeedItemDto> findFirstFeedPage(Pageable pageable);
+
+    @Query(FEED_SELECT + "AND (b.createdAt < ?1 OR (b.createdAt = ?1 AND b.id < ?2)) ORDER BY b.createdAt DESC, b.id DESC")
+    List<FeedItemDto> findFeedPageAfter(LocalDateTime createdAt, Long id, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE b.id IN ?1 AND b.user = ?2")
+    List<BlogSummaryDto> findSummariesByIdInAndUser(Collection<Long> ids, User user);
+
+    @Query("SELECT new com.example.blogapi.search.BlogSearchDocument(b.id, b.user.id, b.title, c.content, b.updatedAt) " +
+            "FROM Blog b LEFT JOIN BlogContent c ON c.blogId = b.id WHERE b.id IN ?1")
+    List<BlogSearchDocument> findSearchDocumentsByIdIn(Collection<Long> ids);
+
+    // Answered from the (user_id, updated_at) index alone
+    @Query("SELECT new com.example.blogapi.dto.BlogListVersion(COUNT(b), MAX(b.updatedAt)) FROM Blog b WHERE b.user = ?1")
+    BlogListVersion findListVersionByUser(User user);
 
-    long countByUserAndPublishedFalse(User user);
+    @Query("SELECT b.published, COUNT(b) FROM Blog b WHERE b.user.id = ?1 GROUP BY b.published")
+    List<Object[]> countByUserIdGroupedByPublished(Long userId);
 }
\ No newline at end of file
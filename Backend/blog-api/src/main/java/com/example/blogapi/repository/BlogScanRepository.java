@@ -0,0 +1,19 @@
+package com.example.blogapi.repository;
+
+import com.example.blogapi.dto.BlogWithContent;
+import com.example.blogapi.model.User;
+import com.example.blogapi.search.BlogSearchDocument;
+
+import java.util.stream.Stream;
+
+/**
+ * Full scans that are read row by row instead of buffered. Callers must close
+ * the stream, and must not run other statements until they have: on MySQL the
+ * open result set holds the connection.
+ */
+public interface BlogScanRepository {
+
+    Stream<BlogSearchDocument> streamSearchDocuments();
+
+    Stream<BlogWithContent> streamWithContentByUser(User user);
+}
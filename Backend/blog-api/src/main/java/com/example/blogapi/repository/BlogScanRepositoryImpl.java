@@ -0,0 +1,60 @@
+package com.example.blogapi.repository;
+
+import com.example.blogapi.dto.BlogWithContent;
+import com.example.blogapi.model.User;
+import com.example.blogapi.search.BlogSearchDocument;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.stream.Stream;
+
+/**
+ * Streams with {@code fetchSize = Integer.MIN_VALUE} on MySQL, which makes
+ * Connector/J hand rows over as they arrive for just these statements, rather
+ * than switching every statement to server-side cursors with
+ * {@code useCursorFetch}. Other databases get an ordinary fetch size.
+ */
+public class BlogScanRepositoryImpl implements BlogScanRepository {
+
+    private static final int FETCH_SIZE = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile Integer fetchSize;
+
+    @Override
+    public Stream<BlogSearchDocument> streamSearchDocuments() {
+        return stream(entityManager.createQuery(
+                "SELECT new com.example.blogapi.search.BlogSearchDocument(b.id, b.user.id, b.title, c.content, b.updatedAt) " +
+                        "FROM Blog b LEFT JOIN BlogContent c ON c.blogId = b.id", BlogSearchDocument.class));
+    }
+
+    @Override
+    public Stream<BlogWithContent> streamWithContentByUser(User user) {
+        return stream(entityManager.createQuery(BlogRepository.WITH_CONTENT_SELECT +
+                        "WHERE b.user = ?1 ORDER BY b.createdAt DESC, b.id DESC", BlogWithContent.class)
+                .setParameter(1, user));
+    }
+
+    private <T> Stream<T> stream(TypedQuery<T> query) {
+        return query.setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize())
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private int fetchSize() {
+        Integer size = fetchSize;
+        if (size == null) {
+            boolean mysql = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices().getDialect() instanceof MySQLDialect;
+            size = mysql ? Integer.MIN_VALUE : FETCH_SIZE;
+            fetchSize = size;
+        }
+        return size;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.blogapi.repository;
+
+import com.example.blogapi.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // A primary-key range scan from the handler's offset
+    @Query("SELECT e FROM OutboxEvent e WHERE e.id > ?1 ORDER BY e.id")
+    List<OutboxEvent> findAfter(long id, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM OutboxEvent e")
+    long findMaxId();
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.id <= ?1 AND e.createdAt < ?2")
+    int deleteHandledBefore(long id, LocalDateTime createdBefore);
+}
@@ -0,0 +1,13 @@
+package com.example.blogapi.repository;
+
+import com.example.blogapi.model.OutboxOffset;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface OutboxOffsetRepository extends JpaRepository<OutboxOffset, String> {
+
+    @Modifying
+    @Query("UPDATE OutboxOffset o SET o.lastId = ?2 WHERE o.handler = ?1")
+    int updateLastId(String handler, long lastId);
+}
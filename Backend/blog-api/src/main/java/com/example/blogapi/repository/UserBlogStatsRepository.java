@@ -0,0 +1,23 @@
+package com.example.blogapi.repository;
+
+import com.example.blogapi.model.UserBlogStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+public interface UserBlogStatsRepository extends JpaRepository<UserBlogStats, Long> {
+
+    @Modifying
+    @Query("UPDATE UserBlogStats s SET s.totalBlogs = s.totalBlogs + ?2, " +
+            "s.publishedBlogs = s.publishedBlogs + ?3, s.draftBlogs = s.draftBlogs + ?4 WHERE s.userId = ?1")
+    int applyDelta(Long userId, long total, long published, long drafts);
+
+    // Held until commit, so applyDelta from concurrent blog writes waits for a recount of the row
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UserBlogStats s WHERE s.userId = ?1")
+    Optional<UserBlogStats> findByUserIdForUpdate(Long userId);
+}
@@ -1,10 +1,50 @@
 package com.example.blogapi.repository;
 
 import com.example.blogapi.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") Long id);
+
+    @Query("SELECT u.name FROM User u WHERE u.id = :id")
+    Optional<String> findNameById(@Param("id") Long id);
+
+    @Query("SELECT u.id FROM User u WHERE u.id > :id ORDER BY u.id")
+    List<Long> findIdsAfter(@Param("id") Long id, Pageable pageable);
+
+    // Targeted updates: a write only sets the columns it changes, so it can't put back another write's values.
+    // They clear the persistence context, so a User loaded earlier in the request isn't read back stale.
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE User u SET u.name = :name WHERE u.id = :id")
+    int updateName(@Param("id") Long id, @Param("name") String name);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE User u SET u.name = :name, u.bio = :bio WHERE u.id = :id")
+    int updateNameAndBio(@Param("id") Long id, @Param("name") String name, @Param("bio") String bio);
+
+    // Only applies while the stored hash is still the one the current password was checked against
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE User u SET u.password = :newHash, u.tokenVersion = u.tokenVersion + 1 " +
+            "WHERE u.id = :id AND u.password = :currentHash")
+    int changePassword(@Param("id") Long id, @Param("currentHash") String currentHash, @Param("newHash") String newHash);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.email = :email AND u.password = :currentHash")
+    int rehashPassword(@Param("email") String email, @Param("currentHash") String currentHash, @Param("newHash") String newHash);
 }
\ No newline at end of file
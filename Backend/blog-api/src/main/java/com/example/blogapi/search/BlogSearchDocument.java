@@ -0,0 +1,19 @@
+package com.example.blogapi.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * Row shape streamed by the startup rebuild; a constructor projection, so the
+ * scan never puts managed entities into the persistence context.
+ */
+@Data
+@AllArgsConstructor
+public class BlogSearchDocument {
+    private Long blogId;
+    private Long userId;
+    private String title;
+    private String content;
+    private LocalDateTime updatedAt;
+}
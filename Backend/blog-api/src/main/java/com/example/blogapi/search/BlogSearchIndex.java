@@ -0,0 +1,102 @@
+package com.example.blogapi.search;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process full-text index of every blog, partitioned by owner. Writes are
+ * versioned by {@code updatedAt} so a bulk rebuild racing with live updates
+ * never replaces a newer document with an older one. Hits are ids only;
+ * callers load the rows, so a briefly stale entry can never leak a deleted post.
+ */
+@Component
+public class BlogSearchIndex {
+
+    // Title terms count double so a match in the title outranks one in the body
+    private static final int TITLE_WEIGHT = 2;
+
+    private final Map<Long, UserSearchIndex> indexesByUser = new ConcurrentHashMap<>();
+    private final Map<Long, Long> ownerByBlog = new ConcurrentHashMap<>();
+
+    // Non-null only while a rebuild is running: blogs deleted since it started
+    private volatile Set<Long> deletedDuringRebuild;
+
+    public void index(long blogId, long userId, String title, String content, LocalDateTime version) {
+        put(blogId, userId, title, content, version);
+    }
+
+    public synchronized void remove(long blogId) {
+        Set<Long> deleted = deletedDuringRebuild;
+        if (deleted != null) {
+            deleted.add(blogId);
+        }
+        Long userId = ownerByBlog.remove(blogId);
+        if (userId != null) {
+            UserSearchIndex userIndex = indexesByUser.get(userId);
+            if (userIndex != null) {
+                userIndex.remove(blogId);
+            }
+        }
+    }
+
+    public List<SearchHit> search(long userId, String query, int limit) {
+        UserSearchIndex userIndex = indexesByUser.get(userId);
+        if (userIndex == null) {
+            return Collections.emptyList();
+        }
+        List<String> terms = List.copyOf(new LinkedHashSet<>(Tokenizer.tokenize(query)));
+        return userIndex.search(terms, limit);
+    }
+
+    public void beginRebuild() {
+        deletedDuringRebuild = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Indexes a document read by the startup scan, unless a live write has
+     * already indexed a newer version or deleted it since the scan began.
+     */
+    public synchronized void indexFromRebuild(long blogId, long userId, String title, String content,
+                                              LocalDateTime version) {
+        Set<Long> deleted = deletedDuringRebuild;
+        if (deleted != null && deleted.contains(blogId)) {
+            return;
+        }
+        put(blogId, userId, title, content, version);
+    }
+
+    public void endRebuild() {
+        deletedDuringRebuild = null;
+    }
+
+    public int size() {
+        return ownerByBlog.size();
+    }
+
+    private void put(long blogId, long userId, String title, String content, LocalDateTime version) {
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        int length = 0;
+        for (String token : Tokenizer.tokenize(title)) {
+            termFrequencies.merge(token, TITLE_WEIGHT, Integer::sum);
+            length += TITLE_WEIGHT;
+        }
+        for (String token : Tokenizer.tokenize(content)) {
+            termFrequencies.merge(token, 1, Integer::sum);
+            length++;
+        }
+
+        boolean stored = indexesByUser.computeIfAbsent(userId, id -> new UserSearchIndex())
+                .putIfNotOlder(blogId, termFrequencies, length, version);
+        if (stored) {
+            ownerByBlog.put(blogId, userId);
+        }
+    }
+}
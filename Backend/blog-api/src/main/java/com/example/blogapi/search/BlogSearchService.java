@@ -0,0 +1,102 @@
+package com.example.blogapi.search;
+
+import com.example.blogapi.dto.BlogSummaryDto;
+import com.example.blogapi.model.OutboxEvent;
+import com.example.blogapi.model.User;
+import com.example.blogapi.outbox.OutboxHandler;
+import com.example.blogapi.repository.BlogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+public class BlogSearchService implements OutboxHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlogSearchService.class);
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    @Autowired
+    private BlogSearchIndex blogSearchIndex;
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    public List<BlogSummaryDto> search(User user, String query, int limit) {
+        int maxHits = Math.max(1, Math.min(limit, MAX_LIMIT));
+        List<SearchHit> hits = blogSearchIndex.search(user.getId(), query, maxHits);
+        if (hits.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Long> ids = hits.stream().map(SearchHit::getBlogId).collect(Collectors.toList());
+        Map<Long, BlogSummaryDto> summaries = blogRepository.findSummariesByIdInAndUser(ids, user).stream()
+                .collect(Collectors.toMap(BlogSummaryDto::getId, Function.identity()));
+
+        // Keep ranking order; ids missing from the database were deleted after they were indexed
+        return ids.stream()
+                .map(summaries::get)
+                .filter(summary -> summary != null)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public String getName() {
+        return "search-index";
+    }
+
+    /**
+     * Re-indexes the blogs the outbox events name, from their current rows in
+     * one query. A blog that no longer exists is removed, whatever the event
+     * said, so replays and retries settle on the latest state.
+     */
+    @Override
+    public void handle(List<OutboxEvent> events) {
+        Set<Long> ids = events.stream().map(OutboxEvent::getBlogId).collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<Long, BlogSearchDocument> documents = blogRepository.findSearchDocumentsByIdIn(ids).stream()
+                .collect(Collectors.toMap(BlogSearchDocument::getBlogId, Function.identity()));
+        for (Long id : ids) {
+            BlogSearchDocument document = documents.get(id);
+            if (document == null) {
+                blogSearchIndex.remove(id);
+            } else {
+                blogSearchIndex.index(document.getBlogId(), document.getUserId(), document.getTitle(),
+                        document.getContent(), document.getUpdatedAt());
+            }
+        }
+    }
+
+    /**
+     * Builds the index from a streaming scan of every blog. Runs after the
+     * server is up, so requests are served (with partial results) meanwhile,
+     * and after {@code BlogContentMigration}, so every body is in blog_content.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildIndex() {
+        long started = System.currentTimeMillis();
+        blogSearchIndex.beginRebuild();
+        try (Stream<BlogSearchDocument> documents = blogRepository.streamSearchDocuments()) {
+            documents.forEach(document -> blogSearchIndex.indexFromRebuild(document.getBlogId(),
+                    document.getUserId(), document.getTitle(), document.getContent(), document.getUpdatedAt()));
+        } finally {
+            blogSearchIndex.endRebuild();
+        }
+        logger.info("Indexed {} blogs for search in {} ms", blogSearchIndex.size(),
+                System.currentTimeMillis() - started);
+    }
+}
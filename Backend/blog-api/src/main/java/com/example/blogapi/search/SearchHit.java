@@ -0,0 +1,11 @@
+package com.example.blogapi.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class SearchHit {
+    private long blogId;
+    private double score;
+}
@@ -0,0 +1,114 @@
+package com.example.blogapi.search;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Inverted index over one user's posts with BM25 ranking. Searches are always
+ * scoped to the caller, so partitioning by user keeps postings lists short and
+ * lets writers for different users proceed without contention.
+ */
+class UserSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static class IndexedDoc {
+        final String[] terms;
+        final int length;
+        final LocalDateTime version;
+
+        IndexedDoc(String[] terms, int length, LocalDateTime version) {
+            this.terms = terms;
+            this.length = length;
+            this.version = version;
+        }
+    }
+
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, IndexedDoc> docs = new HashMap<>();
+    private long totalLength;
+
+    /**
+     * Replaces the document unless the index already holds a newer version,
+     * which happens when change events are delivered out of commit order.
+     */
+    synchronized boolean putIfNotOlder(long blogId, Map<String, Integer> termFrequencies, int length,
+                                       LocalDateTime version) {
+        IndexedDoc existing = docs.get(blogId);
+        if (existing != null && existing.version.isAfter(version)) {
+            return false;
+        }
+        remove(blogId);
+        for (Map.Entry<String, Integer> entry : termFrequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), term -> new HashMap<>()).put(blogId, entry.getValue());
+        }
+        docs.put(blogId, new IndexedDoc(termFrequencies.keySet().toArray(new String[0]), length, version));
+        totalLength += length;
+        return true;
+    }
+
+    synchronized void remove(long blogId) {
+        IndexedDoc doc = docs.remove(blogId);
+        if (doc == null) {
+            return;
+        }
+        for (String term : doc.terms) {
+            Map<Long, Integer> postingList = postings.get(term);
+            if (postingList != null) {
+                postingList.remove(blogId);
+                if (postingList.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= doc.length;
+    }
+
+    synchronized boolean isEmpty() {
+        return docs.isEmpty();
+    }
+
+    synchronized List<SearchHit> search(List<String> queryTerms, int limit) {
+        if (docs.isEmpty() || queryTerms.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        int docCount = docs.size();
+        double averageLength = (double) totalLength / docCount;
+        Map<Long, Double> scores = new HashMap<>();
+
+        for (String term : queryTerms) {
+            Map<Long, Integer> postingList = postings.get(term);
+            if (postingList == null) {
+                continue;
+            }
+            int df = postingList.size();
+            double idf = Math.log(1 + (docCount - df + 0.5) / (df + 0.5));
+            for (Map.Entry<Long, Integer> posting : postingList.entrySet()) {
+                int tf = posting.getValue();
+                int length = docs.get(posting.getKey()).length;
+                double norm = tf + K1 * (1 - B + B * length / averageLength);
+                scores.merge(posting.getKey(), idf * tf * (K1 + 1) / norm, Double::sum);
+            }
+        }
+
+        // Keep only the best `limit` hits in a min-heap instead of sorting every match
+        PriorityQueue<SearchHit> top = new PriorityQueue<>(limit + 1, (a, b) -> Double.compare(a.getScore(), b.getScore()));
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            top.offer(new SearchHit(entry.getKey(), entry.getValue()));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<SearchHit> hits = new ArrayList<>(top);
+        hits.sort((a, b) -> Double.compare(b.getScore(), a.getScore()));
+        return hits;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.blogapi.security;
+
+import com.example.blogapi.exception.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client-IP and per-email token buckets checked before any password
+ * hashing happens, so a credential-stuffing burst is turned away cheaply.
+ * Buckets idle long enough to have refilled completely are evicted.
+ */
+@Component
+public class AuthRateLimiter {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.auth.rate-limit.ip.capacity:20}")
+    private long ipCapacity;
+
+    @Value("${app.auth.rate-limit.ip.refill-per-minute:20}")
+    private long ipRefillPerMinute;
+
+    @Value("${app.auth.rate-limit.email.capacity:5}")
+    private long emailCapacity;
+
+    @Value("${app.auth.rate-limit.email.refill-per-minute:5}")
+    private long emailRefillPerMinute;
+
+    private Cache<String, TokenBucket> ipBuckets;
+    private Cache<String, TokenBucket> emailBuckets;
+    private Counter ipRejections;
+    private Counter emailRejections;
+
+    @PostConstruct
+    public void init() {
+        ipBuckets = newBucketCache(ipCapacity, ipRefillPerMinute);
+        emailBuckets = newBucketCache(emailCapacity, emailRefillPerMinute);
+        ipRejections = Counter.builder("blog.auth.rate_limited").tag("scope", "ip").register(meterRegistry);
+        emailRejections = Counter.builder("blog.auth.rate_limited").tag("scope", "email").register(meterRegistry);
+    }
+
+    public void check(String clientIp, String email) {
+        acquire(ipBuckets.get(clientIp, key -> new TokenBucket(ipCapacity, ipRefillPerMinute)), ipRejections);
+        if (email != null) {
+            String key = email.trim().toLowerCase(Locale.ROOT);
+            acquire(emailBuckets.get(key, k -> new TokenBucket(emailCapacity, emailRefillPerMinute)), emailRejections);
+        }
+    }
+
+    private void acquire(TokenBucket bucket, Counter rejections) {
+        long waitNanos = bucket.tryConsume();
+        if (waitNanos > 0) {
+            rejections.increment();
+            throw new TooManyRequestsException("Too many authentication attempts",
+                    TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        }
+    }
+
+    private Cache<String, TokenBucket> newBucketCache(long capacity, long refillPerMinute) {
+        long secondsToFull = Math.max(60, capacity * 60 / Math.max(1, refillPerMinute));
+        return Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterAccess(Duration.ofSeconds(secondsToFull))
+                .build();
+    }
+}
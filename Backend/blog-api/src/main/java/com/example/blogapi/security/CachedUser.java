@@ -0,0 +1,40 @@
+package com.example.blogapi.security;
+
+import com.example.blogapi.model.User;
+
+/**
+ * Immutable copy of a user's profile as held by {@link UserPrincipalCache}.
+ * The password hash is left out: nothing served from the cache needs it, and
+ * every write goes to the database rather than through a cached instance.
+ */
+public final class CachedUser {
+
+    private final Long id;
+    private final String email;
+    private final String name;
+    private final String bio;
+    private final int tokenVersion;
+
+    private CachedUser(User user) {
+        this.id = user.getId();
+        this.email = user.getEmail();
+        this.name = user.getName();
+        this.bio = user.getBio();
+        this.tokenVersion = user.getTokenVersion();
+    }
+
+    public static CachedUser of(User user) {
+        return new CachedUser(user);
+    }
+
+    /** A new detached {@link User} with these values and no password; read it, never save it. */
+    public User toUser() {
+        User user = new User();
+        user.setId(id);
+        user.setEmail(email);
+        user.setName(name);
+        user.setBio(bio);
+        user.setTokenVersion(tokenVersion);
+        return user;
+    }
+}
@@ -1,16 +1,17 @@
 // src/main/java/com/example/blogapi/security/JwtAuthenticationFilter.java
 package com.example.blogapi.security;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -25,28 +26,43 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private JwtTokenProvider tokenProvider;
 
     @Autowired
-    @Qualifier("userDetailsServiceImpl")
+    private TokenVersionCache tokenVersionCache;
 
-    private UserDetailsService userDetailsService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer authenticationTimer;
+
+    @PostConstruct
+    public void initTimers() {
+        authenticationTimer = Timer.builder("blog.security.jwt.authentication")
+                .description("Time spent resolving the bearer token to an authenticated user")
+                .register(meterRegistry);
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromJWT(jwt);
+            Claims claims = StringUtils.hasText(jwt) ? tokenProvider.parseClaims(jwt) : null;
+
+            // The principal comes straight from the claims; only the token version is checked, from memory
+            AuthenticatedUser principal = claims != null ? tokenProvider.toPrincipal(claims) : null;
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (principal != null && tokenVersionCache.isCurrent(principal.getId(), principal.getTokenVersion())) {
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
+                        principal, null, principal.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
+        } finally {
+            sample.stop(authenticationTimer);
         }
 
         filterChain.doFilter(request, response);
@@ -1,61 +1,203 @@
 // src/main/java/com/example/blogapi/security/JwtTokenProvider.java
 package com.example.blogapi.security;
 
+import com.example.blogapi.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Issues and verifies two kinds of token, told apart by the {@code typ} claim:
+ * short-lived access tokens sent on every request, and longer-lived refresh
+ * tokens that are only accepted by {@code /api/auth/refresh}. Every token
+ * carries a random jti so it can be revoked through {@link TokenRevocationList},
+ * plus the user's id and token version so the caller can be identified from
+ * the token alone. Profile fields such as the name are left out, since a
+ * token would keep carrying them after they change.
+ */
 @Component
 public class JwtTokenProvider {
 
+    public static final String TOKEN_TYPE_CLAIM = "typ";
+    public static final String ACCESS_TOKEN = "access";
+    public static final String REFRESH_TOKEN = "refresh";
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String TOKEN_VERSION_CLAIM = "ver";
+
     @Value("${app.jwt.secret}")
     private String jwtSecret;
 
-    @Value("${app.jwt.expiration}")
-    private int jwtExpirationInMs;
+    @Value("${app.jwt.access-expiration:900000}")
+    private long accessExpirationInMs;
+
+    @Value("${app.jwt.refresh-expiration:1209600000}")
+    private long refreshExpirationInMs;
+
+    @Value("${app.jwt.verified-cache-size:10000}")
+    private long verifiedCacheSize;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TokenRevocationList revocationList;
+
+    private Timer verifyTimer;
+
+    private Key signingKey;
+
+    // JwtParser is immutable and thread-safe once built, so one instance serves every request
+    private JwtParser jwtParser;
+
+    // Digest of a verified token -> its claims, kept until the token itself expires
+    private Cache<String, Claims> verifiedTokens;
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        long remainingMs = claims.getExpiration().getTime() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMs));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        verifyTimer = Timer.builder("blog.jwt.verify")
+                .description("JWT signature verification and claim parsing, excluding cache hits")
+                .register(meterRegistry);
     }
 
-    public String generateToken(Authentication authentication) {
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + jwtExpirationInMs);
+    public String generateAccessToken(User user) {
+        return buildToken(user, ACCESS_TOKEN, accessExpirationInMs);
+    }
 
+    public String generateRefreshToken(User user) {
+        return buildToken(user, REFRESH_TOKEN, refreshExpirationInMs);
+    }
+
+    private String buildToken(User user, String type, long expirationInMs) {
+        Date now = new Date();
         return Jwts.builder()
-                .setSubject(userDetails.getUsername())
-                .setIssuedAt(new Date())
-                .setExpiration(expiryDate)
-                .signWith(getSigningKey())
+                .setId(UUID.randomUUID().toString())
+                .setSubject(user.getEmail())
+                .claim(TOKEN_TYPE_CLAIM, type)
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(TOKEN_VERSION_CLAIM, user.getTokenVersion())
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + expirationInMs))
+                .signWith(signingKey)
                 .compact();
     }
 
-    public String getUsernameFromJWT(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * Returns the claims of a valid, unrevoked access token, or {@code null}
+     * for anything else, including refresh tokens.
+     */
+    public Claims parseClaims(String token) {
+        return parseClaims(token, ACCESS_TOKEN);
+    }
 
-        return claims.getSubject();
+    /** Same as {@link #parseClaims(String)} but only accepts refresh tokens. */
+    public Claims parseRefreshClaims(String token) {
+        return parseClaims(token, REFRESH_TOKEN);
     }
 
-    public boolean validateToken(String authToken) {
+    /** The caller described by verified claims, or {@code null} if they lack the user claims. */
+    public AuthenticatedUser toPrincipal(Claims claims) {
+        Long userId = claims.get(USER_ID_CLAIM, Long.class);
+        Integer tokenVersion = claims.get(TOKEN_VERSION_CLAIM, Integer.class);
+        if (userId == null || tokenVersion == null) {
+            return null;
+        }
+        return new AuthenticatedUser(userId, claims.getSubject(), tokenVersion);
+    }
+
+    /** Revokes the token until it expires; {@code false} if it already was. */
+    public boolean revoke(Claims claims) {
+        return revocationList.revoke(claims.getId(), claims.getExpiration());
+    }
+
+    private Claims parseClaims(String token, String expectedType) {
+        Claims claims = verify(token);
+        if (claims == null
+                || !expectedType.equals(claims.get(TOKEN_TYPE_CLAIM, String.class))
+                || revocationList.isRevoked(claims.getId())) {
+            return null;
+        }
+        return claims;
+    }
+
+    /**
+     * Verifies the token once and returns its claims, or {@code null} if the
+     * token is malformed, tampered with or expired. Recently verified tokens
+     * are answered from a bounded cache without repeating the HMAC check.
+     */
+    private Claims verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+
+        String digest = digest(token);
+        Claims cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            return cached.getExpiration().after(new Date()) ? cached : null;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(authToken);
-            return true;
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            if (claims.getExpiration() != null) {
+                verifiedTokens.put(digest, claims);
+            }
+            return claims;
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return null;
+        } finally {
+            sample.stop(verifyTimer);
+        }
+    }
+
+    // Only a digest of the bearer token is retained, never the credential itself
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha256.digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.example.blogapi.security;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+/**
+ * Finds the work factor that makes one hash take about {@code targetMillis}
+ * on the current machine. Each probe is timed a few times and the fastest run
+ * is used, which filters out JIT warm-up and scheduling noise.
+ *
+ * The result never goes below the configured cost, and only moves in
+ * doublings of it. A measurement that is slightly off on the next restart
+ * then lands on the same cost, so stored hashes aren't reported as needing
+ * an upgrade after every deploy.
+ */
+public final class PasswordCostCalibrator {
+
+    private static final String PROBE_PASSWORD = "calibration-probe-password";
+    private static final int RUNS_PER_PROBE = 3;
+
+    private PasswordCostCalibrator() {
+    }
+
+    /** Highest BCrypt strength (4..31) whose hash stays within the target, never below {@code minimum}. */
+    public static int bcryptStrength(long targetMillis, int minimum) {
+        int strength = minimum;
+        // Every strength step doubles the work, so probing stops one step past the target
+        for (int candidate = 4; candidate <= 31; candidate++) {
+            double millis = measure(new BCryptPasswordEncoder(candidate));
+            if (millis > targetMillis) {
+                break;
+            }
+            strength = Math.max(strength, candidate);
+        }
+        return strength;
+    }
+
+    /** PBKDF2 cost is linear in iterations, so one probe is enough to scale from. */
+    public static int pbkdf2Iterations(long targetMillis, int minimum) {
+        int probeIterations = 50_000;
+        double millis = measure(new Pbkdf2PasswordEncoder("", 16, probeIterations,
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256));
+        return doublingsOf(minimum, probeIterations * targetMillis / Math.max(millis, 0.01));
+    }
+
+    /** Argon2 keeps the configured memory and parallelism and scales the pass count. */
+    public static int argon2Iterations(long targetMillis, int memoryKib, int parallelism, int minimum) {
+        double millis = measure(new Argon2PasswordEncoder(16, 32, parallelism, memoryKib, 1));
+        return doublingsOf(minimum, targetMillis / Math.max(millis, 0.01));
+    }
+
+    /** The largest {@code base * 2^k} that doesn't exceed {@code measured}, and at least {@code base}. */
+    static int doublingsOf(int base, double measured) {
+        int cost = Math.max(base, 1);
+        while (cost <= Integer.MAX_VALUE / 2 && cost * 2L <= measured) {
+            cost *= 2;
+        }
+        return Math.max(cost, base);
+    }
+
+    private static double measure(PasswordEncoder encoder) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS_PER_PROBE; i++) {
+            long start = System.nanoTime();
+            encoder.encode(PROBE_PASSWORD);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1e6;
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.blogapi.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds the {@link DelegatingPasswordEncoder} behind login and signup.
+ * New hashes use {@code app.auth.password.algorithm} with its configured
+ * cost and are stored with an {@code {id}} prefix. Existing hashes of any
+ * known id, as well as the legacy unprefixed BCrypt hashes, still verify, and
+ * report {@code upgradeEncoding} so they get rehashed on the next login.
+ *
+ * PBKDF2 hashes don't record their iteration count, so the count is part of
+ * the id ({@code {pbkdf2@310000}}). A hash stays verifiable after the count
+ * changes, and is upgraded like any other.
+ *
+ * With {@code app.auth.password.calibrate=true} the cost of the selected
+ * algorithm is raised at startup, in doublings of the configured value, as
+ * far as {@code target-millis} per hash allows.
+ */
+@Component
+public class PasswordEncoderFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordEncoderFactory.class);
+
+    private static final String PBKDF2_ID = "pbkdf2";
+
+    @Value("${app.auth.password.algorithm:bcrypt}")
+    private String algorithm;
+
+    @Value("${app.auth.password.calibrate:false}")
+    private boolean calibrate;
+
+    @Value("${app.auth.password.target-millis:250}")
+    private long targetMillis;
+
+    @Value("${app.auth.password.bcrypt.strength:10}")
+    private int bcryptStrength;
+
+    @Value("${app.auth.password.pbkdf2.iterations:310000}")
+    private int pbkdf2Iterations;
+
+    // Count behind hashes stored as plain {pbkdf2}, before the id carried it
+    @Value("${app.auth.password.pbkdf2.untagged-iterations:310000}")
+    private int pbkdf2UntaggedIterations;
+
+    @Value("${app.auth.password.argon2.memory-kib:19456}")
+    private int argon2MemoryKib;
+
+    @Value("${app.auth.password.argon2.iterations:2}")
+    private int argon2Iterations;
+
+    @Value("${app.auth.password.argon2.parallelism:1}")
+    private int argon2Parallelism;
+
+    public PasswordEncoder create() {
+        if (calibrate) {
+            calibrateCost();
+        }
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", new BCryptPasswordEncoder(bcryptStrength));
+        encoders.put(PBKDF2_ID + "@" + pbkdf2Iterations, pbkdf2(pbkdf2Iterations));
+        encoders.put(PBKDF2_ID, pbkdf2(pbkdf2UntaggedIterations));
+        encoders.put("argon2", new Argon2PasswordEncoder(16, 32, argon2Parallelism, argon2MemoryKib, argon2Iterations));
+        String idForEncode = PBKDF2_ID.equals(algorithm) ? PBKDF2_ID + "@" + pbkdf2Iterations : algorithm;
+        if (!encoders.containsKey(idForEncode)) {
+            throw new IllegalStateException("Unknown app.auth.password.algorithm '" + algorithm
+                    + "', expected one of [bcrypt, pbkdf2, argon2]");
+        }
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(idForEncode, encoders);
+        encoder.setDefaultPasswordEncoderForMatches(new UnregisteredIdEncoder());
+        logger.info("Password hashing: {} ({})", algorithm, describeCost());
+        return encoder;
+    }
+
+    private static Pbkdf2PasswordEncoder pbkdf2(int iterations) {
+        return new Pbkdf2PasswordEncoder("", 16, iterations,
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+    }
+
+    private void calibrateCost() {
+        switch (algorithm) {
+            case "bcrypt" -> bcryptStrength = PasswordCostCalibrator.bcryptStrength(targetMillis, bcryptStrength);
+            case "pbkdf2" -> pbkdf2Iterations = PasswordCostCalibrator.pbkdf2Iterations(targetMillis, pbkdf2Iterations);
+            case "argon2" -> argon2Iterations = PasswordCostCalibrator.argon2Iterations(targetMillis,
+                    argon2MemoryKib, argon2Parallelism, argon2Iterations);
+            default -> {
+                // Rejected with a clear message in create()
+            }
+        }
+    }
+
+    private String describeCost() {
+        return switch (algorithm) {
+            case "bcrypt" -> "strength " + bcryptStrength;
+            case "pbkdf2" -> pbkdf2Iterations + " iterations";
+            default -> argon2MemoryKib + " KiB, " + argon2Iterations + " iterations, parallelism " + argon2Parallelism;
+        };
+    }
+
+    /**
+     * Verifies the hashes whose id has no registered encoder: PBKDF2 at an
+     * earlier iteration count, and the unprefixed BCrypt hashes written before
+     * ids were stored. Only used for matching; they are rehashed on login.
+     */
+    private static class UnregisteredIdEncoder implements PasswordEncoder {
+
+        private static final String PREFIX = "{" + PBKDF2_ID + "@";
+
+        private final PasswordEncoder bcrypt = new BCryptPasswordEncoder();
+        private final Map<Integer, PasswordEncoder> pbkdf2ByIterations = new ConcurrentHashMap<>();
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            throw new UnsupportedOperationException("Only used to verify existing hashes");
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            if (encodedPassword == null || !encodedPassword.startsWith(PREFIX)) {
+                return bcrypt.matches(rawPassword, encodedPassword);
+            }
+            int end = encodedPassword.indexOf('}');
+            int iterations;
+            try {
+                iterations = Integer.parseInt(encodedPassword.substring(PREFIX.length(), end));
+            } catch (NumberFormatException | IndexOutOfBoundsException e) {
+                return false;
+            }
+            return pbkdf2ByIterations.computeIfAbsent(iterations, PasswordEncoderFactory::pbkdf2)
+                    .matches(rawPassword, encodedPassword.substring(end + 1));
+        }
+    }
+}
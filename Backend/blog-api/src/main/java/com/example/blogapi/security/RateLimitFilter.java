@@ -0,0 +1,142 @@
+package com.example.blogapi.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request rate limits per caller, checked right after {@link JwtAuthenticationFilter}
+ * so a request over its limit is answered 429 (with {@code Retry-After}) before it
+ * reaches a controller or the connection pool. Reads, writes and {@code /api/auth/**}
+ * each have their own bucket per caller, sized by {@code app.rate-limit.*}.
+ * Authenticated callers are keyed by the user id from their token; anonymous
+ * callers, and every auth endpoint, by client IP.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.rate-limit.read.capacity:300}")
+    private long readCapacity;
+
+    @Value("${app.rate-limit.read.refill-per-minute:300}")
+    private long readRefillPerMinute;
+
+    @Value("${app.rate-limit.write.capacity:60}")
+    private long writeCapacity;
+
+    @Value("${app.rate-limit.write.refill-per-minute:60}")
+    private long writeRefillPerMinute;
+
+    @Value("${app.rate-limit.auth.capacity:30}")
+    private long authCapacity;
+
+    @Value("${app.rate-limit.auth.refill-per-minute:30}")
+    private long authRefillPerMinute;
+
+    @Value("${app.rate-limit.max-keys:100000}")
+    private int maxKeys;
+
+    private Policy read;
+    private Policy write;
+    private Policy auth;
+
+    @PostConstruct
+    public void init() {
+        read = new Policy("read", new StripedTokenBuckets(readCapacity, readRefillPerMinute, maxKeys), meterRegistry);
+        write = new Policy("write", new StripedTokenBuckets(writeCapacity, writeRefillPerMinute, maxKeys), meterRegistry);
+        auth = new Policy("auth", new StripedTokenBuckets(authCapacity, authRefillPerMinute, maxKeys), meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Policy policy;
+        long key;
+        if (request.getRequestURI().startsWith("/api/auth/")) {
+            policy = auth;
+            key = ipKey(request.getRemoteAddr());
+        } else {
+            String method = request.getMethod();
+            policy = "GET".equals(method) || "HEAD".equals(method) ? read : write;
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            key = authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user
+                    ? user.getId()
+                    : ipKey(request.getRemoteAddr());
+        }
+
+        long waitNanos = policy.buckets.tryAcquire(key, System.nanoTime());
+        if (waitNanos > 0) {
+            policy.rejections.increment();
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER,
+                    String.valueOf(TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L)));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    // Anonymous keys have the sign bit set, so they never share a bucket with a user id
+    static long ipKey(String ip) {
+        long hash = 1125899906842597L;
+        for (int i = 0; i < ip.length(); i++) {
+            hash = 31 * hash + ip.charAt(i);
+        }
+        return hash | Long.MIN_VALUE;
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.evict-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        for (Policy policy : new Policy[]{read, write, auth}) {
+            policy.evicted.increment(policy.buckets.evictIdle(now));
+        }
+    }
+
+    private static final class Policy {
+        private final StripedTokenBuckets buckets;
+        private final Counter rejections;
+        private final Counter evicted;
+
+        Policy(String name, StripedTokenBuckets buckets, MeterRegistry registry) {
+            this.buckets = buckets;
+            this.rejections = Counter.builder("blog.rate_limit.rejected").tag("policy", name)
+                    .description("Requests answered 429 by the rate limiter").register(registry);
+            this.evicted = Counter.builder("blog.rate_limit.evicted").tag("policy", name)
+                    .description("Idle rate-limit buckets dropped").register(registry);
+            Gauge.builder("blog.rate_limit.keys", buckets, StripedTokenBuckets::size).tag("policy", name)
+                    .description("Callers with a rate-limit bucket").register(registry);
+            FunctionCounter.builder("blog.rate_limit.untracked", buckets, StripedTokenBuckets::untracked)
+                    .tag("policy", name)
+                    .description("Requests let through because the bucket table was full").register(registry);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.blogapi.security;
+
+/**
+ * Token buckets with the same lazy, continuous refill as {@link TokenBucket},
+ * for any number of {@code long} keys. Keys are spread over lock stripes, each
+ * an open-addressing table of primitive arrays, so a check is one hash, one
+ * uncontended monitor and a short probe, with no per-key objects or boxing.
+ *
+ * A bucket left alone long enough to have refilled completely carries no
+ * information, so {@link #evictIdle} drops it and the next request simply starts
+ * a new, full one. Each stripe holds its share of {@code maxKeys}, rounded up
+ * to a power of two; keys that arrive while a stripe is full of active buckets are let through
+ * untracked rather than sharing another key's bucket.
+ */
+public class StripedTokenBuckets {
+
+    private static final int STRIPE_BITS = 6;
+    private static final int INITIAL_SLOTS = 64;
+
+    private final Stripe[] stripes = new Stripe[1 << STRIPE_BITS];
+    private final double capacity;
+    private final double tokensPerNano;
+    private final long idleNanos;
+    private final int maxSlots;
+
+    public StripedTokenBuckets(long capacity, long refillPerMinute, int maxKeys) {
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerMinute / 60e9;
+        this.idleNanos = (long) Math.ceil(capacity / tokensPerNano);
+        // Smallest power of two that keeps a stripe's share of maxKeys at half load
+        int keysPerStripe = Math.max(1, maxKeys >> STRIPE_BITS);
+        this.maxSlots = Integer.highestOneBit(keysPerStripe * 2 - 1) << 1;
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Takes one token from {@code key}'s bucket. Returns 0 on success (or when
+     * the key can't be tracked), otherwise the nanoseconds until a token is available.
+     */
+    public long tryAcquire(long key, long nowNanos) {
+        long hash = mix(key);
+        return stripes[(int) (hash >>> (64 - STRIPE_BITS))].tryAcquire(key, hash, nowNanos);
+    }
+
+    /** Drops buckets that have been idle long enough to be full again; returns how many. */
+    public int evictIdle(long nowNanos) {
+        int evicted = 0;
+        for (Stripe stripe : stripes) {
+            evicted += stripe.evictIdle(nowNanos);
+        }
+        return evicted;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size;
+        }
+        return size;
+    }
+
+    /** Keys turned away from a full stripe and let through without a bucket. */
+    public long untracked() {
+        long untracked = 0;
+        for (Stripe stripe : stripes) {
+            untracked += stripe.untracked;
+        }
+        return untracked;
+    }
+
+    // murmur3 finalizer: sequential ids spread evenly over stripes and slots
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    private final class Stripe {
+        private long[] keys = new long[Math.min(INITIAL_SLOTS, maxSlots)];
+        private double[] tokens = new double[keys.length];
+        private long[] updatedAt = new long[keys.length];
+        private boolean[] used = new boolean[keys.length];
+        // Read unsynchronized by size() and untracked() for metrics only
+        private volatile int size;
+        private volatile long untracked;
+
+        synchronized long tryAcquire(long key, long hash, long now) {
+            int slot = find(key, hash);
+            double available;
+            if (used[slot]) {
+                available = Math.min(capacity, tokens[slot] + (now - updatedAt[slot]) * tokensPerNano);
+            } else {
+                // Linear probing stays short at a load factor of at most one half
+                if ((size + 1) * 2 > keys.length) {
+                    rebuild(now);
+                    if ((size + 1) * 2 > keys.length) {
+                        untracked++;
+                        return 0;
+                    }
+                    slot = find(key, hash);
+                }
+                used[slot] = true;
+                keys[slot] = key;
+                size++;
+                available = capacity;
+            }
+            updatedAt[slot] = now;
+            if (available >= 1) {
+                tokens[slot] = available - 1;
+                return 0;
+            }
+            tokens[slot] = available;
+            return (long) Math.ceil((1 - available) / tokensPerNano);
+        }
+
+        synchronized int evictIdle(long now) {
+            int before = size;
+            rebuild(now);
+            return before - size;
+        }
+
+        // Index of the key's slot, or of the empty slot it would go in
+        private int find(long key, long hash) {
+            int mask = keys.length - 1;
+            int slot = (int) hash & mask;
+            while (used[slot] && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        /**
+         * Re-inserts the buckets that aren't idle into fresh arrays, which also
+         * clears the probe chains evictions would otherwise break. The table
+         * doubles when live buckets would still fill more than half of it, up to
+         * room for the stripe's share of {@code maxKeys}, and shrinks when mostly empty.
+         */
+        private void rebuild(long now) {
+            int live = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (used[i] && now - updatedAt[i] < idleNanos) {
+                    live++;
+                }
+            }
+            int slots = keys.length;
+            while ((live + 1) * 2 > slots && slots < maxSlots) {
+                slots <<= 1;
+            }
+            while (slots > INITIAL_SLOTS && live * 8 < slots) {
+                slots >>>= 1;
+            }
+            if (live == size && slots == keys.length) {
+                return;
+            }
+
+            long[] oldKeys = keys;
+            double[] oldTokens = tokens;
+            long[] oldUpdatedAt = updatedAt;
+            boolean[] oldUsed = used;
+            keys = new long[slots];
+            tokens = new double[slots];
+            updatedAt = new long[slots];
+            used = new boolean[slots];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldUsed[i] && now - oldUpdatedAt[i] < idleNanos) {
+                    int slot = find(oldKeys[i], mix(oldKeys[i]));
+                    used[slot] = true;
+                    keys[slot] = oldKeys[i];
+                    tokens[slot] = oldTokens[i];
+                    updatedAt[slot] = oldUpdatedAt[i];
+                }
+            }
+            size = live;
+        }
+    }
+}
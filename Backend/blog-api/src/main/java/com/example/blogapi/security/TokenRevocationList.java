@@ -0,0 +1,64 @@
+package com.example.blogapi.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory set of revoked token ids (jti). Each entry lives only until the
+ * token it revokes would have expired anyway, so the set stays as small as the
+ * number of tokens revoked within one refresh lifetime. Lookups are a single
+ * hash probe. Revocations are per instance and are lost on restart.
+ */
+@Component
+public class TokenRevocationList implements MeterBinder {
+
+    // jti -> expiry of the revoked token in epoch millis
+    private final Cache<String, Long> revoked = Caffeine.newBuilder()
+            .expireAfter(new Expiry<String, Long>() {
+                @Override
+                public long expireAfterCreate(String jti, Long expiresAt, long currentTime) {
+                    return TimeUnit.MILLISECONDS.toNanos(Math.max(0, expiresAt - System.currentTimeMillis()));
+                }
+
+                @Override
+                public long expireAfterUpdate(String jti, Long expiresAt, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+
+                @Override
+                public long expireAfterRead(String jti, Long expiresAt, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
+
+    /**
+     * Revokes the token id until {@code expiresAt}. Returns {@code false} if it
+     * was already revoked, which lets a refresh claim its token exactly once.
+     */
+    public boolean revoke(String jti, Date expiresAt) {
+        if (jti == null || expiresAt == null) {
+            return false;
+        }
+        return revoked.asMap().putIfAbsent(jti, expiresAt.getTime()) == null;
+    }
+
+    public boolean isRevoked(String jti) {
+        return jti != null && revoked.getIfPresent(jti) != null;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("blog.jwt.revoked", revoked, Cache::estimatedSize)
+                .description("Revoked token ids that have not yet expired")
+                .register(registry);
+    }
+}
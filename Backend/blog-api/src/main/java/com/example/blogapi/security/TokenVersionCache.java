@@ -0,0 +1,62 @@
+package com.example.blogapi.security;
+
+import com.example.blogapi.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Current token version per user id. Tokens carry the version they were
+ * issued under, and bumping it (on a password change) invalidates every
+ * token issued before. The version is read once per user per TTL, which
+ * also bounds how long another instance keeps accepting old tokens.
+ */
+@Component
+public class TokenVersionCache implements MeterBinder {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${app.cache.token-version.max-size:10000}")
+    private long maxSize;
+
+    @Value("${app.cache.token-version.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private Cache<Long, Integer> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /** {@code false} if the version is stale or the user no longer exists. */
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        if (userId == null) {
+            return false;
+        }
+        Integer current = cache.get(userId, id -> userRepository.findTokenVersionById(id).orElse(null));
+        return current != null && current == tokenVersion;
+    }
+
+    public void update(Long userId, int tokenVersion) {
+        cache.put(userId, tokenVersion);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "tokenVersions");
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.blogapi.security;
+
+import com.example.blogapi.model.User;
+import com.example.blogapi.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Bounded, TTL-evicting cache of user profiles keyed by email, behind
+ * {@code UserService.getCurrentUser} and token refresh, so those cost at most
+ * one user lookup per TTL. Entries are {@link CachedUser} snapshots and each
+ * lookup gets its own detached copy, so nothing a caller does to it is seen by
+ * other requests or written back. Hit, miss and eviction counts are published as {@code cache.*} metrics
+ * under {@code cache=userPrincipals}.
+ */
+@Component
+public class UserPrincipalCache implements MeterBinder {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${app.cache.principal.max-size:10000}")
+    private long maxSize;
+
+    @Value("${app.cache.principal.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    private Cache<String, CachedUser> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    public Optional<User> findByEmail(String email) {
+        // Unknown emails are not cached; the loader returning null leaves no entry behind
+        CachedUser user = cache.get(email, key -> userRepository.findByEmail(key).map(CachedUser::of).orElse(null));
+        return Optional.ofNullable(user).map(CachedUser::toUser);
+    }
+
+    public void invalidate(String email) {
+        cache.invalidate(email);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "userPrincipals");
+    }
+}
@@ -2,11 +2,17 @@ package com.example.blogapi.service;
 
 import com.example.blogapi.dto.AuthResponse;
 import com.example.blogapi.dto.UserDto;
+import com.example.blogapi.exception.TooManyRequestsException;
 import com.example.blogapi.model.User;
 import com.example.blogapi.repository.UserRepository;
+import com.example.blogapi.security.AuthenticatedUser;
 import com.example.blogapi.security.JwtTokenProvider;
+import com.example.blogapi.security.TokenVersionCache;
+import com.example.blogapi.security.UserPrincipalCache;
+import io.jsonwebtoken.Claims;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -31,18 +37,72 @@ public class AuthService {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private BlogStatsService blogStatsService;
+
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
+    @Autowired
+    private TokenVersionCache tokenVersionCache;
+
     public AuthResponse authenticateUser(String email, String password) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(email, password)
-        );
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(email, password)
+            );
+        } catch (InternalAuthenticationServiceException e) {
+            // The provider wraps anything thrown while checking an unknown user, including hashing back-pressure
+            if (e.getCause() instanceof TooManyRequestsException tooManyRequests) {
+                throw tooManyRequests;
+            }
+            throw e;
+        }
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
-        String jwt = tokenProvider.generateToken(authentication);
 
         User user = userRepository.findByEmail(email).orElseThrow();
+        return issueTokens(user);
+    }
+
+    public AuthResponse issueTokens(User user) {
         UserDto userDto = userService.convertToDto(user);
+        return new AuthResponse(tokenProvider.generateAccessToken(user), tokenProvider.generateRefreshToken(user), userDto);
+    }
+
+    /**
+     * Exchanges a refresh token for a new access/refresh pair. The presented
+     * token is revoked first, so each one can be used exactly once; a replayed
+     * or unknown token, or one issued before a password change, yields
+     * {@code null}. No password hashing is involved.
+     */
+    public AuthResponse refresh(String refreshToken) {
+        Claims claims = tokenProvider.parseRefreshClaims(refreshToken);
+        AuthenticatedUser principal = claims != null ? tokenProvider.toPrincipal(claims) : null;
+        if (principal == null
+                || !tokenVersionCache.isCurrent(principal.getId(), principal.getTokenVersion())
+                || !tokenProvider.revoke(claims)) {
+            return null;
+        }
+
+        User user = userPrincipalCache.findByEmail(principal.getEmail()).orElse(null);
+        if (user == null) {
+            return null;
+        }
+        return issueTokens(user);
+    }
 
-        return new AuthResponse(jwt, userDto);
+    /** Revokes whichever of the two tokens are present and still valid. */
+    public void logout(String accessToken, String refreshToken) {
+        Claims accessClaims = tokenProvider.parseClaims(accessToken);
+        if (accessClaims != null) {
+            tokenProvider.revoke(accessClaims);
+        }
+        Claims refreshClaims = tokenProvider.parseRefreshClaims(refreshToken);
+        if (refreshClaims != null) {
+            tokenProvider.revoke(refreshClaims);
+        }
     }
 
     public boolean registerUser(String name, String email, String password) {
@@ -56,6 +116,8 @@ public class AuthService {
         user.setPassword(passwordEncoder.encode(password));
 
         userRepository.save(user);
+        userPrincipalCache.invalidate(email);
+        blogStatsService.initializeCounters(user);
         return true;
     }
 }
\ No newline at end of file
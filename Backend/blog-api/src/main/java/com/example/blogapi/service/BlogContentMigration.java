@@ -0,0 +1,209 @@
+package com.example.blogapi.service;
+
+import com.example.blogapi.model.BlogContent;
+import com.example.blogapi.model.BlogContentConverter;
+import com.example.blogapi.repository.BlogContentRepository;
+import com.example.blogapi.util.BlogExcerpt;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSetMetaData;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves bodies from the legacy {@code blogs.content} column into
+ * {@code blog_content}. Before the app serves requests the column is only made
+ * nullable, since new rows no longer write it; the copy itself runs once the
+ * server is up, in id order and one batch per transaction. Until it finishes,
+ * reads fall back to the old column for rows it hasn't reached.
+ *
+ * On request it also fills {@code blogs.excerpt} for blogs written before
+ * that column existed.
+ */
+@Component
+public class BlogContentMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlogContentMigration.class);
+
+    // A body already written through the new table by an edit is newer than the legacy copy
+    private static final String COPY_SQL = "INSERT INTO blog_content (blog_id, content) SELECT b.id, ? FROM blogs b " +
+            "WHERE b.id = ? AND NOT EXISTS (SELECT 1 FROM blog_content c WHERE c.blog_id = b.id)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private BlogContentConverter blogContentConverter;
+
+    // Also makes sure Hibernate has created blog_content before prepare() runs
+    @Autowired
+    private BlogContentRepository blogContentRepository;
+
+    @Value("${app.blog.content.migration.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.blog.excerpt.backfill:false}")
+    private boolean excerptBackfill;
+
+    private volatile boolean pending;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void prepare() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        Boolean nullable = legacyColumnNullable();
+        if (nullable == null) {
+            return;
+        }
+        if (!nullable) {
+            // MySQL does this in place without blocking concurrent DML
+            jdbcTemplate.execute("ALTER TABLE blogs MODIFY content TEXT NULL");
+        }
+        pending = true;
+    }
+
+    // Null when blogs has no content column: a new install, or one where it has been dropped
+    private Boolean legacyColumnNullable() {
+        try {
+            return jdbcTemplate.query("SELECT content FROM blogs WHERE 1 = 0",
+                    rs -> rs.getMetaData().isNullable(1) != ResultSetMetaData.columnNoNulls);
+        } catch (BadSqlGrammarException e) {
+            return null;
+        }
+    }
+
+    public boolean isPending() {
+        return pending;
+    }
+
+    // Runs ahead of the search index rebuild, which reads every body
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void migrate() {
+        if (!pending) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        long copied = 0;
+        long lastId = 0;
+        while (true) {
+            List<BodyRow> rows = jdbcTemplate.query(
+                    "SELECT id, content FROM blogs WHERE id > ? AND content IS NOT NULL ORDER BY id LIMIT ?",
+                    (rs, rowNum) -> new BodyRow(rs.getLong(1), rs.getString(2)), lastId, batchSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+            transactionTemplate.executeWithoutResult(status -> copyBatch(rows));
+            lastId = rows.get(rows.size() - 1).id;
+            copied += rows.size();
+        }
+        pending = false;
+        logger.info("Moved {} blog bodies to blog_content in {} ms; blogs.content is no longer read and can be dropped",
+                copied, System.currentTimeMillis() - started);
+    }
+
+    private void copyBatch(List<BodyRow> rows) {
+        jdbcTemplate.batchUpdate(COPY_SQL, rows, rows.size(), (statement, row) -> {
+            statement.setBytes(1, blogContentConverter.convertToDatabaseColumn(row.content));
+            statement.setLong(2, row.id);
+        });
+        // Clearing the old column is what actually shrinks the blogs rows
+        jdbcTemplate.update("UPDATE blogs SET content = NULL WHERE id BETWEEN ? AND ?",
+                rows.get(0).id, rows.get(rows.size() - 1).id);
+    }
+
+    /**
+     * Fills the excerpt of every blog that has none, in id order and one batch
+     * per transaction. It is a pass over all blogs, so it only runs when
+     * {@code app.blog.excerpt.backfill} is set; an excerpt written by an edit
+     * in the meantime is left alone.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void backfillExcerpts() {
+        if (!excerptBackfill) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        long filled = 0;
+        long lastId = 0;
+        while (true) {
+            List<BodyRow> rows = jdbcTemplate.query(
+                    "SELECT c.blog_id, c.content FROM blog_content c JOIN blogs b ON b.id = c.blog_id " +
+                            "WHERE c.blog_id > ? AND b.excerpt IS NULL ORDER BY c.blog_id LIMIT ?",
+                    (rs, rowNum) -> new BodyRow(rs.getLong(1), blogContentConverter.convertToEntityAttribute(rs.getBytes(2))),
+                    lastId, batchSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                    "UPDATE blogs SET excerpt = ? WHERE id = ? AND excerpt IS NULL", rows, rows.size(),
+                    (statement, row) -> {
+                        statement.setString(1, BlogExcerpt.of(row.content));
+                        statement.setLong(2, row.id);
+                    }));
+            lastId = rows.get(rows.size() - 1).id;
+            filled += rows.size();
+        }
+        logger.info("Filled excerpts of {} blogs in {} ms; app.blog.excerpt.backfill can be turned off",
+                filled, System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Bodies of the given blogs that are still only in the legacy column. A
+     * body the copy moved in the meantime is read from its new table instead.
+     */
+    public Map<Long, String> findUnmigrated(Collection<Long> blogIds) {
+        if (!pending || blogIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Long, String> contents = new HashMap<>();
+        namedParameterJdbcTemplate.query("SELECT id, content FROM blogs WHERE id IN (:ids) AND content IS NOT NULL",
+                new MapSqlParameterSource("ids", blogIds),
+                rs -> {
+                    contents.put(rs.getLong(1), rs.getString(2));
+                });
+        if (contents.size() < blogIds.size()) {
+            for (BlogContent moved : blogContentRepository.findAllById(
+                    blogIds.stream().filter(id -> !contents.containsKey(id)).toList())) {
+                contents.put(moved.getBlogId(), moved.getContent());
+            }
+        }
+        return contents;
+    }
+
+    private static class BodyRow {
+        private final long id;
+        private final String content;
+
+        BodyRow(long id, String content) {
+            this.id = id;
+            this.content = content;
+        }
+    }
+}
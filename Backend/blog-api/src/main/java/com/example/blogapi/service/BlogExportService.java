@@ -0,0 +1,93 @@
+package com.example.blogapi.service;
+
+import com.example.blogapi.dto.BlogWithContent;
+import com.example.blogapi.model.Blog;
+import com.example.blogapi.model.User;
+import com.example.blogapi.repository.BlogRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Writes every blog of a user straight from a database cursor to an output
+ * stream. Each entity is detached once written, so memory use does not grow
+ * with the number of posts. Bodies come from the same cursor by an outer join
+ * on {@code blog_content}. While {@link BlogContentMigration} is still running,
+ * the rows are read up front instead, because a body still in the legacy column
+ * is looked up with a separate query, and a streaming result set blocks its
+ * connection until it is closed.
+ */
+@Service
+public class BlogExportService {
+
+    public enum Format { NDJSON, JSON }
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @Autowired
+    private BlogContentMigration blogContentMigration;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public long export(User user, Format format, OutputStream out) throws IOException {
+        long written = 0;
+        try (Stream<BlogWithContent> blogs = blogContentMigration.isPending()
+                ? blogRepository.findFirstPageWithContentByUser(user, Pageable.unpaged()).stream()
+                : blogRepository.streamWithContentByUser(user);
+             JsonGenerator generator = objectMapper.createGenerator(out)) {
+            if (format == Format.JSON) {
+                generator.writeStartArray();
+            } else {
+                // Records are newline-terminated below instead of space-separated
+                generator.setRootValueSeparator(null);
+            }
+
+            Iterator<BlogWithContent> iterator = blogs.iterator();
+            while (iterator.hasNext()) {
+                BlogWithContent row = iterator.next();
+                Blog blog = row.getBlog();
+                String content = row.getContent() != null ? row.getContent()
+                        : blogContentMigration.findUnmigrated(List.of(blog.getId())).get(blog.getId());
+                writeBlog(generator, blog, content);
+                if (format == Format.NDJSON) {
+                    generator.writeRaw('\n');
+                }
+                entityManager.detach(blog);
+                written++;
+            }
+
+            if (format == Format.JSON) {
+                generator.writeEndArray();
+            }
+        }
+        return written;
+    }
+
+    private void writeBlog(JsonGenerator generator, Blog blog, String content) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", blog.getId());
+        generator.writeStringField("title", blog.getTitle());
+        generator.writeStringField("content", content);
+        generator.writeBooleanField("published", blog.isPublished());
+        generator.writeObjectField("createdAt", blog.getCreatedAt());
+        generator.writeObjectField("updatedAt", blog.getUpdatedAt());
+        generator.writeEndObject();
+    }
+}
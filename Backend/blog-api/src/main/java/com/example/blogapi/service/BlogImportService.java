@@ -0,0 +1,225 @@
+package com.example.blogapi.service;
+
+import com.example.blogapi.dto.BlogRequest;
+import com.example.blogapi.dto.BulkImportItemResult;
+import com.example.blogapi.dto.BulkImportResult;
+import com.example.blogapi.event.BlogChangeType;
+import com.example.blogapi.event.BlogChangedEvent;
+import com.example.blogapi.model.BlogContentConverter;
+import com.example.blogapi.model.User;
+import com.example.blogapi.util.BlogExcerpt;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Imports blogs from an NDJSON stream of {@link BlogRequest} lines. Items are
+ * parsed one at a time and inserted in JDBC batches of
+ * {@code app.blog.bulk.batch-size}, each batch in its own transaction. Blog ids
+ * are IDENTITY-generated, which rules out Hibernate insert batching, so
+ * batches go through plain JDBC and read the ids back as generated keys. With
+ * {@code rewriteBatchedStatements} a batch is one multi-row INSERT into
+ * {@code blogs} and one into {@code blog_content}.
+ */
+@Service
+public class BlogImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlogImportService.class);
+
+    private static final String INSERT_SQL = "INSERT INTO blogs (title, excerpt, published, created_at, updated_at, user_id, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, 0)";
+
+    private static final String INSERT_CONTENT_SQL = "INSERT INTO blog_content (blog_id, content) VALUES (?, ?)";
+
+    private static final int MAX_TITLE_LENGTH = 255;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private BlogStatsService blogStatsService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BlogContentConverter blogContentConverter;
+
+    @Value("${app.blog.bulk.batch-size:500}")
+    private int batchSize;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public BulkImportResult importBlogs(User user, InputStream body) throws IOException {
+        BulkImportResult result = new BulkImportResult();
+        List<PendingBlog> batch = new ArrayList<>(batchSize);
+        int index = 0;
+
+        try (MappingIterator<BlogRequest> items = objectMapper.readerFor(BlogRequest.class).readValues(body)) {
+            while (items.hasNextValue()) {
+                BlogRequest item = items.nextValue();
+                String error = validate(item);
+                if (error != null) {
+                    fail(result, index, error);
+                } else {
+                    batch.add(new PendingBlog(index, item));
+                    if (batch.size() == batchSize) {
+                        insertBatch(user, batch, result);
+                        batch.clear();
+                    }
+                }
+                index++;
+            }
+        } catch (JsonProcessingException e) {
+            // A malformed line leaves the parser without a reliable next record boundary, so stop here
+            fail(result, index, "Malformed JSON: " + e.getOriginalMessage());
+            index++;
+        }
+
+        if (!batch.isEmpty()) {
+            insertBatch(user, batch, result);
+        }
+        result.setReceived(index);
+        result.getItems().sort(Comparator.comparingInt(BulkImportItemResult::getIndex));
+        return result;
+    }
+
+    private String validate(BlogRequest item) {
+        if (item == null) {
+            return "Empty item";
+        }
+        if (item.getTitle() == null || item.getTitle().isBlank()) {
+            return "title is required";
+        }
+        if (item.getTitle().length() > MAX_TITLE_LENGTH) {
+            return "title is longer than " + MAX_TITLE_LENGTH + " characters";
+        }
+        if (item.getContent() == null) {
+            return "content is required";
+        }
+        return null;
+    }
+
+    private void insertBatch(User user, List<PendingBlog> batch, BulkImportResult result) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids;
+        try {
+            ids = transactionTemplate.execute(status -> {
+                List<Long> keys = jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection ->
+                        executeInsert(connection, user, batch, now));
+
+                long published = batch.stream().filter(pending -> pending.request.isPublished()).count();
+                blogStatsService.onBlogsCreated(user, published, batch.size() - published);
+                for (int i = 0; i < batch.size(); i++) {
+                    BlogRequest request = batch.get(i).request;
+                    eventPublisher.publishEvent(new BlogChangedEvent(BlogChangeType.CREATED, keys.get(i), user.getId(),
+                            request.getTitle(), request.getContent(), request.isPublished(), now, now));
+                }
+                return keys;
+            });
+        } catch (DataAccessException | TransactionException e) {
+            logger.warn("Bulk import batch of {} blogs for user {} rolled back", batch.size(), user.getId(), e);
+            String error = "Batch insert failed: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            for (PendingBlog pending : batch) {
+                fail(result, pending.index, error);
+            }
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            result.getItems().add(new BulkImportItemResult(batch.get(i).index, ids.get(i), null));
+        }
+        result.setCreated(result.getCreated() + batch.size());
+    }
+
+    private List<Long> executeInsert(Connection connection, User user, List<PendingBlog> batch, LocalDateTime now)
+            throws SQLException {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        List<Long> ids = new ArrayList<>(batch.size());
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            for (PendingBlog pending : batch) {
+                statement.setString(1, pending.request.getTitle());
+                statement.setString(2, BlogExcerpt.of(pending.request.getContent()));
+                statement.setBoolean(3, pending.request.isPublished());
+                statement.setTimestamp(4, timestamp);
+                statement.setTimestamp(5, timestamp);
+                statement.setLong(6, user.getId());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                while (keys.next()) {
+                    ids.add(keys.getLong(1));
+                }
+            }
+            if (ids.size() != batch.size()) {
+                throw new SQLException("Expected " + batch.size() + " generated keys but got " + ids.size());
+            }
+        }
+
+        // Bodies go to the side table under the generated ids, encoded as the entity mapping would
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_CONTENT_SQL)) {
+            for (int i = 0; i < batch.size(); i++) {
+                statement.setLong(1, ids.get(i));
+                statement.setBytes(2, blogContentConverter.convertToDatabaseColumn(batch.get(i).request.getContent()));
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+        return ids;
+    }
+
+    private void fail(BulkImportResult result, int index, String error) {
+        result.getItems().add(new BulkImportItemResult(index, null, error));
+        result.setFailed(result.getFailed() + 1);
+    }
+
+    private static class PendingBlog {
+        private final int index;
+        private final BlogRequest request;
+
+        PendingBlog(int index, BlogRequest request) {
+            this.index = index;
+            this.request = request;
+        }
+    }
+}
@@ -1,115 +1,417 @@
 package com.example.blogapi.service;
 
+import com.example.blogapi.cache.BlogCache;
+import com.example.blogapi.cache.CachedBlog;
 import com.example.blogapi.dto.BlogDto;
+import com.example.blogapi.dto.BlogListVersion;
+import com.example.blogapi.dto.BlogPatchRequest;
+import com.example.blogapi.dto.BlogRowState;
+import com.example.blogapi.dto.BlogSummaryDto;
+import com.example.blogapi.dto.BlogWithContent;
+import com.example.blogapi.dto.CursorPageDto;
 import com.example.blogapi.dto.UserDto;
+import com.example.blogapi.event.BlogChangeType;
+import com.example.blogapi.event.BlogChangedEvent;
+import com.example.blogapi.exception.BlogAccessDeniedException;
+import com.example.blogapi.exception.BlogConflictException;
+import com.example.blogapi.exception.BlogNotFoundException;
+import com.example.blogapi.exception.BlogPreconditionFailedException;
 import com.example.blogapi.model.Blog;
+import com.example.blogapi.model.BlogContent;
 import com.example.blogapi.model.User;
+import com.example.blogapi.repository.BlogContentRepository;
 import com.example.blogapi.repository.BlogRepository;
+import com.example.blogapi.util.BlogCursor;
+import com.example.blogapi.util.BlogExcerpt;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class BlogService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private BlogRepository blogRepository;
 
+    @Autowired
+    private BlogContentRepository blogContentRepository;
+
+    @Autowired
+    private BlogContentMigration blogContentMigration;
+
     @Autowired
     private UserService userService;
 
-    public BlogDto convertToDto(Blog blog) {
+    @Autowired
+    private BlogStatsService blogStatsService;
+
+    @Autowired
+    private BlogCache blogCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer dtoConversionTimer;
+
+    @PostConstruct
+    public void initTimers() {
+        dtoConversionTimer = Timer.builder("blog.dto.convert")
+                .description("Entity to BlogDto conversion of a full list")
+                .register(meterRegistry);
+    }
+
+    public BlogDto convertToDto(Blog blog, String content) {
+        return convertToDto(blog, content, userService.convertToDto(blog.getUser()));
+    }
+
+    /**
+     * Converts a blog using an author that has already been resolved, so list
+     * conversions never touch the lazy {@code Blog.user} association.
+     */
+    public BlogDto convertToDto(Blog blog, String content, UserDto author) {
         BlogDto blogDto = new BlogDto();
         blogDto.setId(blog.getId());
         blogDto.setTitle(blog.getTitle());
-        blogDto.setContent(blog.getContent());
+        blogDto.setContent(content);
         blogDto.setPublished(blog.isPublished());
         blogDto.setCreatedAt(blog.getCreatedAt());
         blogDto.setUpdatedAt(blog.getUpdatedAt());
-
-        UserDto userDto = userService.convertToDto(blog.getUser());
-        blogDto.setUser(userDto);
+        blogDto.setVersion(blog.getVersion());
+        blogDto.setUser(author);
 
         return blogDto;
     }
 
-    public Blog convertToEntity(BlogDto blogDto, User user) {
-        Blog blog = new Blog();
-        blog.setTitle(blogDto.getTitle());
-        blog.setContent(blogDto.getContent());
-        blog.setPublished(blogDto.isPublished());
-        blog.setUser(user);
-        blog.setCreatedAt(LocalDateTime.now());
-        blog.setUpdatedAt(LocalDateTime.now());
-        return blog;
+    private List<BlogDto> convertAll(List<BlogWithContent> rows, UserDto author) {
+        Map<Long, String> unmigrated = findUnmigrated(rows);
+        return dtoConversionTimer.record(() -> rows.stream()
+                .map(row -> convertToDto(row.getBlog(), contentOf(row, unmigrated), author))
+                .collect(Collectors.toList()));
     }
 
-    public List<BlogDto> getAllBlogs(User user) {
-        List<Blog> blogs = blogRepository.findByUserOrderByCreatedAtDesc(user);
-        return blogs.stream()
-                .map(this::convertToDto)
+    // Rows the content migration hasn't reached yet still have their body in the old blogs.content column
+    private Map<Long, String> findUnmigrated(List<BlogWithContent> rows) {
+        List<Long> missing = rows.stream()
+                .filter(row -> row.getContent() == null)
+                .map(row -> row.getBlog().getId())
                 .collect(Collectors.toList());
+        return missing.isEmpty() ? Collections.emptyMap() : blogContentMigration.findUnmigrated(missing);
+    }
+
+    private String contentOf(BlogWithContent row, Map<Long, String> unmigrated) {
+        return row.getContent() != null ? row.getContent() : unmigrated.get(row.getBlog().getId());
+    }
+
+    private String contentOf(BlogWithContent row) {
+        return contentOf(row, findUnmigrated(List.of(row)));
+    }
+
+    public List<BlogDto> getAllBlogs(User user) {
+        List<BlogWithContent> rows = blogRepository.findWithContentByUser(user);
+        return convertAll(rows, userService.convertToDto(user));
+    }
+
+    public List<BlogSummaryDto> getBlogSummaries(User user) {
+        return blogRepository.findSummariesByUser(user);
+    }
+
+    public CursorPageDto<BlogDto> getBlogPage(User user, String cursor, int limit) {
+        int pageSize = clampPageSize(limit);
+        BlogCursor after = decodeCursor(cursor);
+        List<BlogWithContent> rows = after == null
+                ? blogRepository.findFirstPageWithContentByUser(user, PageRequest.of(0, pageSize + 1))
+                : blogRepository.findPageWithContentByUserAfter(user, after.getCreatedAt(), after.getId(),
+                        PageRequest.of(0, pageSize + 1));
+
+        CursorPageDto<BlogWithContent> page = toPage(rows, pageSize,
+                row -> new BlogCursor(row.getBlog().getCreatedAt(), row.getBlog().getId()));
+        List<BlogDto> items = convertAll(page.getItems(), userService.convertToDto(user));
+        return new CursorPageDto<>(items, page.getNextCursor(), page.isHasMore());
+    }
+
+    public CursorPageDto<BlogSummaryDto> getBlogSummaryPage(User user, String cursor, int limit) {
+        int pageSize = clampPageSize(limit);
+        BlogCursor after = decodeCursor(cursor);
+        List<BlogSummaryDto> summaries = after == null
+                ? blogRepository.findFirstSummaryPageByUser(user, PageRequest.of(0, pageSize + 1))
+                : blogRepository.findSummaryPageByUserAfter(user, after.getCreatedAt(), after.getId(),
+                        PageRequest.of(0, pageSize + 1));
+
+        return toPage(summaries, pageSize, summary -> new BlogCursor(summary.getCreatedAt(), summary.getId()));
+    }
+
+    private int clampPageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    private BlogCursor decodeCursor(String cursor) {
+        return cursor == null || cursor.isBlank() ? null : BlogCursor.decode(cursor);
+    }
+
+    // Rows are fetched with one extra element so the next page can be detected without a COUNT query
+    private <T> CursorPageDto<T> toPage(List<T> rows, int pageSize, Function<T, BlogCursor> cursorOf) {
+        if (rows.size() <= pageSize) {
+            return new CursorPageDto<>(rows, null, false);
+        }
+        List<T> items = rows.subList(0, pageSize);
+        String nextCursor = cursorOf.apply(items.get(pageSize - 1)).encode();
+        return new CursorPageDto<>(items, nextCursor, true);
     }
 
     public List<BlogDto> getRecentBlogs(User user) {
-        List<Blog> blogs = blogRepository.findRecentByUser(user);
-        return blogs.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        List<BlogWithContent> rows = blogRepository.findRecentWithContentByUser(user);
+        return convertAll(rows, userService.convertToDto(user));
+    }
+
+    public List<BlogSummaryDto> getRecentBlogSummaries(User user) {
+        return blogRepository.findRecentSummariesByUser(user);
+    }
+
+    public BlogListVersion getListVersion(User user) {
+        return blogRepository.findListVersionByUser(user);
     }
 
     public BlogDto getBlogById(Long id, User currentUser) {
-        Blog blog = blogRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Blog not found"));
+        CachedBlog blog = blogCache.get(id, version -> blogRepository.findWithContentByIdAndUserId(id, currentUser.getId())
+                .map(row -> toCachedBlog(row.getBlog(), contentOf(row), version))
+                .orElse(null));
+        if (blog == null) {
+            throw explainMiss(id, currentUser, "access", null);
+        }
 
-        if (!blog.getUser().getId().equals(currentUser.getId())) {
-            throw new RuntimeException("You don't have permission to access this blog");
+        // A cache hit may be someone else's blog
+        if (!blog.getOwnerId().equals(currentUser.getId())) {
+            throw new BlogAccessDeniedException("You don't have permission to access this blog");
         }
 
-        return convertToDto(blog);
+        BlogDto blogDto = new BlogDto();
+        blogDto.setId(blog.getId());
+        blogDto.setTitle(blog.getTitle());
+        blogDto.setContent(blog.getContent());
+        blogDto.setPublished(blog.isPublished());
+        blogDto.setCreatedAt(blog.getCreatedAt());
+        blogDto.setUpdatedAt(blog.getUpdatedAt());
+        blogDto.setVersion(blog.getRowVersion());
+        blogDto.setUser(userService.convertToDto(currentUser));
+        return blogDto;
+    }
+
+    // Blog.user is a lazy proxy here; reading its id does not initialize it
+    private CachedBlog toCachedBlog(Blog blog, String content, long version) {
+        return new CachedBlog(blog.getId(), blog.getUser().getId(), blog.getTitle(), content,
+                blog.isPublished(), blog.getCreatedAt(), blog.getUpdatedAt(), blog.getVersion(), version);
     }
 
+    @Transactional
     public BlogDto createBlog(String title, String content, boolean published, User user) {
         Blog blog = new Blog();
         blog.setTitle(title);
-        blog.setContent(content);
+        blog.setExcerpt(BlogExcerpt.of(content));
         blog.setPublished(published);
         blog.setUser(user);
         blog.setCreatedAt(LocalDateTime.now());
         blog.setUpdatedAt(LocalDateTime.now());
 
         Blog savedBlog = blogRepository.save(blog);
-        return convertToDto(savedBlog);
+        blogContentRepository.save(new BlogContent(null, savedBlog, content));
+        blogStatsService.onBlogCreated(user, published);
+        publishChange(BlogChangeType.CREATED, savedBlog, content);
+        return convertToDto(savedBlog, content);
     }
 
-    public BlogDto updateBlog(Long id, String title, String content, boolean published, User currentUser) {
-        Blog blog = blogRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Blog not found"));
+    /**
+     * One ownership-scoped UPDATE that bumps the version. With stats counters
+     * on, the caller's row is first read under a write lock so a change of the
+     * published flag can be counted; with them off the UPDATE is the only
+     * statement on {@code blogs}. The body is a second statement against
+     * {@code blog_content}, skipped when the cached copy of the replaced
+     * version shows it unchanged.
+     *
+     * With {@code expectedVersion} (from If-Match) the update only applies to
+     * that version, and a mismatch is reported as a failed precondition. A
+     * null {@code expectedVersion} ({@code If-Match: *}) replaces whatever
+     * version is stored; unless the row was locked, the new version is then
+     * read back.
+     */
+    @Transactional
+    public BlogDto updateBlog(Long id, String title, String content, boolean published, Long expectedVersion,
+                              User currentUser) {
+        CachedBlog snapshot = blogCache.peek(id);
+        LocalDateTime now = LocalDateTime.now();
+        Long userId = currentUser.getId();
 
-        if (!blog.getUser().getId().equals(currentUser.getId())) {
-            throw new RuntimeException("You don't have permission to update this blog");
+        // The version this write replaces, when it is known before the UPDATE
+        Long previousVersion = expectedVersion;
+        BlogRowState locked = null;
+        if (blogStatsService.isCountersEnabled()) {
+            locked = blogRepository.findRowStateForUpdate(id, userId)
+                    .orElseThrow(() -> explainMiss(id, currentUser, "update", null));
+            if (expectedVersion != null && !expectedVersion.equals(locked.getVersion())) {
+                throw new BlogPreconditionFailedException();
+            }
+            previousVersion = locked.getVersion();
+        }
+        if (blogRepository.updateByIdAndUserId(id, userId, previousVersion, title, BlogExcerpt.of(content),
+                published, now) == 0) {
+            throw explainMiss(id, currentUser, "update", expectedVersion);
         }
 
-        blog.setTitle(title);
-        blog.setContent(content);
-        blog.setPublished(published);
-        blog.setUpdatedAt(LocalDateTime.now());
+        // The replaced version is the cached one, so the cached body is current too
+        boolean contentUnchanged = snapshot != null && previousVersion != null
+                && previousVersion == snapshot.getRowVersion() && Objects.equals(content, snapshot.getContent());
+        if (!contentUnchanged) {
+            writeContent(id, content);
+        }
+        if (locked != null && locked.isPublished() != published) {
+            blogStatsService.onPublishedChanged(currentUser, published);
+        }
+
+        // created_at never changes, so any copy of it is as good as the row
+        LocalDateTime createdAt = locked != null ? locked.getCreatedAt()
+                : snapshot != null ? snapshot.getCreatedAt() : null;
+        Long newVersion = previousVersion != null ? previousVersion + 1 : null;
+        if (createdAt == null || newVersion == null) {
+            BlogRowState row = blogRepository.findRowStateById(id).orElseThrow(BlogNotFoundException::new);
+            createdAt = row.getCreatedAt();
+            newVersion = row.getVersion();
+        }
+        eventPublisher.publishEvent(new BlogChangedEvent(BlogChangeType.UPDATED, id, userId,
+                title, content, published, createdAt, now));
+
+        BlogDto blogDto = new BlogDto();
+        blogDto.setId(id);
+        blogDto.setTitle(title);
+        blogDto.setContent(content);
+        blogDto.setPublished(published);
+        blogDto.setCreatedAt(createdAt);
+        blogDto.setUpdatedAt(now);
+        blogDto.setVersion(newVersion);
+        blogDto.setUser(userService.convertToDto(currentUser));
+        return blogDto;
+    }
+
+    /**
+     * Applies only the fields present in the patch. The blog is loaded and
+     * flushed as an entity, so {@code @DynamicUpdate} writes just the changed
+     * columns and {@code @Version} guards against concurrent writers; the body
+     * is only written when it changed.
+     */
+    @Transactional
+    public BlogDto patchBlog(Long id, BlogPatchRequest patch, Long expectedVersion, User currentUser) {
+        BlogWithContent row = blogRepository.findWithContentByIdAndUserId(id, currentUser.getId())
+                .orElseThrow(() -> explainMiss(id, currentUser, "update", null));
+        Blog blog = row.getBlog();
+        String content = contentOf(row);
+        if (expectedVersion != null && expectedVersion != blog.getVersion()) {
+            throw new BlogPreconditionFailedException();
+        }
+
+        boolean wasPublished = blog.isPublished();
+        boolean changed = false;
+        if (patch.getTitle() != null && !patch.getTitle().equals(blog.getTitle())) {
+            blog.setTitle(patch.getTitle());
+            changed = true;
+        }
+        boolean contentChanged = patch.getContent() != null && !patch.getContent().equals(content);
+        if (contentChanged) {
+            content = patch.getContent();
+            blog.setExcerpt(BlogExcerpt.of(content));
+            changed = true;
+        }
+        if (patch.getPublished() != null && patch.getPublished() != wasPublished) {
+            blog.setPublished(patch.getPublished());
+            changed = true;
+        }
 
-        Blog updatedBlog = blogRepository.save(blog);
-        return convertToDto(updatedBlog);
+        if (changed) {
+            // Also dirties the blog row when only the body changed, so its version still moves
+            blog.setUpdatedAt(LocalDateTime.now());
+            // Flush now so a version conflict surfaces here rather than at commit
+            blogRepository.saveAndFlush(blog);
+            if (contentChanged) {
+                writeContent(id, content);
+            }
+            if (blog.isPublished() != wasPublished) {
+                blogStatsService.onPublishedChanged(currentUser, blog.isPublished());
+            }
+            publishChange(BlogChangeType.UPDATED, blog, content);
+        }
+        return convertToDto(blog, content, userService.convertToDto(currentUser));
     }
 
+    /**
+     * One ownership-scoped DELETE. With stats counters on, the row is read
+     * under a write lock first so the counter for its published flag can be
+     * decremented; otherwise the event carries the cached flag, if any.
+     */
+    @Transactional
     public void deleteBlog(Long id, User currentUser) {
-        Blog blog = blogRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Blog not found"));
+        CachedBlog snapshot = blogCache.peek(id);
+        Long userId = currentUser.getId();
 
-        if (!blog.getUser().getId().equals(currentUser.getId())) {
-            throw new RuntimeException("You don't have permission to delete this blog");
+        BlogRowState locked = null;
+        if (blogStatsService.isCountersEnabled()) {
+            locked = blogRepository.findRowStateForUpdate(id, userId)
+                    .orElseThrow(() -> explainMiss(id, currentUser, "delete", null));
         }
+        if (blogRepository.deleteByIdAndUserId(id, userId) == 0) {
+            throw explainMiss(id, currentUser, "delete", null);
+        }
+
+        boolean published = locked != null ? locked.isPublished() : snapshot != null && snapshot.isPublished();
+        if (locked != null) {
+            blogStatsService.onBlogDeleted(currentUser, published);
+        }
+        LocalDateTime createdAt = locked != null ? locked.getCreatedAt()
+                : snapshot != null ? snapshot.getCreatedAt() : null;
+        eventPublisher.publishEvent(new BlogChangedEvent(BlogChangeType.DELETED, id, userId,
+                null, null, published, createdAt, LocalDateTime.now()));
+    }
+
+    /**
+     * Explains why a scoped statement matched nothing: the blog is gone, is
+     * someone else's, or is the caller's but was changed by another write in
+     * the meantime (a failed precondition when the caller named a version).
+     */
+    private RuntimeException explainMiss(Long id, User currentUser, String action, Long expectedVersion) {
+        Long ownerId = blogRepository.findOwnerIdById(id).orElse(null);
+        if (ownerId == null) {
+            return new BlogNotFoundException();
+        }
+        if (!ownerId.equals(currentUser.getId())) {
+            return new BlogAccessDeniedException("You don't have permission to " + action + " this blog");
+        }
+        return expectedVersion != null ? new BlogPreconditionFailedException() : new BlogConflictException();
+    }
+
+    // A blog the migration hasn't copied yet has no row to update; the copy skips it once it has one
+    private void writeContent(Long blogId, String content) {
+        if (blogContentRepository.updateContent(blogId, content) == 0) {
+            blogContentRepository.save(new BlogContent(null, blogRepository.getReferenceById(blogId), content));
+        }
+    }
 
-        blogRepository.delete(blog);
+    private void publishChange(BlogChangeType type, Blog blog, String content) {
+        eventPublisher.publishEvent(new BlogChangedEvent(type, blog.getId(), blog.getUser().getId(),
+                blog.getTitle(), content, blog.isPublished(), blog.getCreatedAt(), blog.getUpdatedAt()));
     }
 }
\ No newline at end of file
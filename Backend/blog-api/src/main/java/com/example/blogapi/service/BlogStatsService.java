@@ -0,0 +1,174 @@
+package com.example.blogapi.service;
+
+import com.example.blogapi.dto.BlogStatsDto;
+import com.example.blogapi.model.User;
+import com.example.blogapi.model.UserBlogStats;
+import com.example.blogapi.repository.BlogRepository;
+import com.example.blogapi.repository.UserBlogStatsRepository;
+import com.example.blogapi.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class BlogStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlogStatsService.class);
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @Autowired
+    private UserBlogStatsRepository userBlogStatsRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.blog.stats.counters-enabled:false}")
+    private boolean countersEnabled;
+
+    @Value("${app.blog.stats.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /** Whether writes have to report published-flag changes; when off they needn't learn the old flag. */
+    public boolean isCountersEnabled() {
+        return countersEnabled;
+    }
+
+    @Transactional(readOnly = true)
+    public BlogStatsDto getStats(User user) {
+        if (countersEnabled) {
+            Optional<UserBlogStats> counters = userBlogStatsRepository.findById(user.getId());
+            if (counters.isPresent()) {
+                UserBlogStats stats = counters.get();
+                return new BlogStatsDto(stats.getTotalBlogs(), stats.getPublishedBlogs(), stats.getDraftBlogs());
+            }
+        }
+        return countStats(user);
+    }
+
+    public BlogStatsDto countStats(User user) {
+        return countStats(user.getId());
+    }
+
+    private BlogStatsDto countStats(Long userId) {
+        long published = 0;
+        long drafts = 0;
+        List<Object[]> rows = blogRepository.countByUserIdGroupedByPublished(userId);
+        for (Object[] row : rows) {
+            if ((Boolean) row[0]) {
+                published = (Long) row[1];
+            } else {
+                drafts = (Long) row[1];
+            }
+        }
+        return new BlogStatsDto(published + drafts, published, drafts);
+    }
+
+    // The hooks below run inside the caller's transaction so counters commit or roll back with the blog change.
+
+    @Transactional
+    public void initializeCounters(User user) {
+        if (countersEnabled) {
+            userBlogStatsRepository.save(new UserBlogStats(user.getId(), 0, 0, 0));
+        }
+    }
+
+    @Transactional
+    public void onBlogCreated(User user, boolean published) {
+        if (countersEnabled) {
+            userBlogStatsRepository.applyDelta(user.getId(), 1, published ? 1 : 0, published ? 0 : 1);
+        }
+    }
+
+    @Transactional
+    public void onBlogsCreated(User user, long published, long drafts) {
+        if (countersEnabled && published + drafts > 0) {
+            userBlogStatsRepository.applyDelta(user.getId(), published + drafts, published, drafts);
+        }
+    }
+
+    @Transactional
+    public void onBlogDeleted(User user, boolean published) {
+        if (countersEnabled) {
+            userBlogStatsRepository.applyDelta(user.getId(), -1, published ? -1 : 0, published ? 0 : -1);
+        }
+    }
+
+    @Transactional
+    public void onPublishedChanged(User user, boolean published) {
+        if (countersEnabled) {
+            userBlogStatsRepository.applyDelta(user.getId(), 0, published ? 1 : -1, published ? -1 : 1);
+        }
+    }
+
+    /**
+     * Counters are not maintained while the feature is disabled, so turning it
+     * on over existing data needs one rebuild; {@code rebuild-on-startup} asks
+     * for it. Otherwise users without a counter row are simply counted on read.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildCountersOnStartup() {
+        if (countersEnabled && rebuildOnStartup) {
+            rebuildCounters();
+        }
+    }
+
+    /**
+     * Recounts every user's counter row, one user per transaction. The row is
+     * locked before the recount, so a concurrent write's delta either is
+     * already in the count or waits and is applied on top of it; nothing is
+     * lost while the rebuild runs.
+     */
+    public void rebuildCounters() {
+        long started = System.currentTimeMillis();
+        long users = 0;
+        Long lastId = 0L;
+        while (true) {
+            List<Long> userIds = userRepository.findIdsAfter(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            if (userIds.isEmpty()) {
+                break;
+            }
+            for (Long userId : userIds) {
+                transactionTemplate.executeWithoutResult(status -> recount(userId));
+            }
+            lastId = userIds.get(userIds.size() - 1);
+            users += userIds.size();
+        }
+        logger.info("Rebuilt blog stats counters for {} users in {} ms", users, System.currentTimeMillis() - started);
+    }
+
+    private void recount(Long userId) {
+        UserBlogStats counters = userBlogStatsRepository.findByUserIdForUpdate(userId)
+                .orElseGet(() -> new UserBlogStats(userId, 0, 0, 0));
+        BlogStatsDto stats = countStats(userId);
+        counters.setTotalBlogs(stats.getTotalBlogs());
+        counters.setPublishedBlogs(stats.getPublishedBlogs());
+        counters.setDraftBlogs(stats.getDraftBlogs());
+        userBlogStatsRepository.save(counters);
+    }
+}
@@ -1,8 +1,12 @@
 package com.example.blogapi.service;
 
 import com.example.blogapi.dto.UserDto;
+import com.example.blogapi.feed.FeedTimeline;
 import com.example.blogapi.model.User;
 import com.example.blogapi.repository.UserRepository;
+import com.example.blogapi.security.AuthenticatedUser;
+import com.example.blogapi.security.TokenVersionCache;
+import com.example.blogapi.security.UserPrincipalCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -18,36 +22,73 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
-    public User getCurrentUser() {
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
+    @Autowired
+    private TokenVersionCache tokenVersionCache;
+
+    @Autowired
+    private FeedTimeline feedTimeline;
+
+    public AuthenticatedUser getCurrentPrincipal() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        return userRepository.findByEmail(authentication.getName())
+        return (AuthenticatedUser) authentication.getPrincipal();
+    }
+
+    public User getCurrentUser() {
+        return userPrincipalCache.findByEmail(getCurrentPrincipal().getEmail())
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
 
+    /**
+     * An uninitialized reference to the caller, for code that only needs the
+     * user id (ownership checks, queries by user). Reading anything other than
+     * the id triggers a load, so use {@link #getCurrentUser()} for that.
+     */
+    public User getCurrentUserReference() {
+        return userRepository.getReferenceById(getCurrentPrincipal().getId());
+    }
+
     public UserDto getUserProfile() {
         User user = getCurrentUser();
         return convertToDto(user);
     }
 
+    /**
+     * Sets the name, and the bio when given, with one UPDATE of just those
+     * columns. The cached profile is dropped once it has committed.
+     */
     public UserDto updateUserProfile(UserDto userDto) {
-        User user = getCurrentUser();
-        user.setName(userDto.getName());
+        AuthenticatedUser principal = getCurrentPrincipal();
         if (userDto.getBio() != null) {
-            user.setBio(userDto.getBio());
+            userRepository.updateNameAndBio(principal.getId(), userDto.getName(), userDto.getBio());
+        } else {
+            userRepository.updateName(principal.getId(), userDto.getName());
         }
-        User updatedUser = userRepository.save(user);
-        return convertToDto(updatedUser);
+        userPrincipalCache.invalidate(principal.getEmail());
+        feedTimeline.renameAuthor(principal.getId(), userDto.getName());
+        return convertToDto(getCurrentUser());
     }
 
+    /**
+     * Checks the current password against a fresh read of the stored hash and
+     * replaces it only if that hash is still in place, bumping the token
+     * version in the same statement. Losing a race to another change answers
+     * {@code false}, like a wrong current password.
+     */
     public boolean updatePassword(String currentPassword, String newPassword) {
-        User user = getCurrentUser();
-
-        if (!passwordEncoder.matches(currentPassword, user.getPassword())) {
+        AuthenticatedUser principal = getCurrentPrincipal();
+        User user = userRepository.findById(principal.getId()).orElse(null);
+        if (user == null || !passwordEncoder.matches(currentPassword, user.getPassword())) {
             return false;
         }
 
-        user.setPassword(passwordEncoder.encode(newPassword));
-        userRepository.save(user);
+        if (userRepository.changePassword(user.getId(), user.getPassword(), passwordEncoder.encode(newPassword)) == 0) {
+            return false;
+        }
+        userPrincipalCache.invalidate(user.getEmail());
+        tokenVersionCache.update(user.getId(), user.getTokenVersion() + 1);
         return true;
     }
 
@@ -0,0 +1,298 @@
+package com.example.blogapi.stream;
+
+import com.example.blogapi.dto.BlogSummaryDto;
+import com.example.blogapi.event.BlogChangeType;
+import com.example.blogapi.event.BlogChangedEvent;
+import com.example.blogapi.util.BlogExcerpt;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes each user's blog changes to their open SSE connections
+ * ({@code GET /api/blogs/events}), off the same after-commit
+ * {@link BlogChangedEvent}s that maintain the search index and caches.
+ *
+ * A user who has subscribed gets a channel with a replay log of their last
+ * {@code app.blog.events.replay-size} events, kept for
+ * {@code replay-ttl-minutes} after their last connection closes, so a client
+ * reconnecting with {@code Last-Event-ID} picks up where it left off. If the
+ * events it missed are no longer in the log it is sent {@code resync} and
+ * reloads instead. Event ids start from the process start time, so an id
+ * issued before a restart is recognised as too old.
+ *
+ * Sends run on a fixed pool of {@code send-threads} with a bounded queue. A
+ * user can hold at most {@code max-connections-per-user} streams (opening
+ * another closes their oldest), and a send still blocked after
+ * {@code send-timeout-seconds} closes its connection, so stalled clients can
+ * neither grow the pool nor keep its threads.
+ */
+@Component
+public class BlogEventStream {
+
+    @Value("${app.blog.events.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${app.blog.events.replay-size:100}")
+    private int replaySize;
+
+    @Value("${app.blog.events.replay-ttl-minutes:10}")
+    private long replayTtlMinutes;
+
+    @Value("${app.blog.events.heartbeat-seconds:20}")
+    private long heartbeatSeconds;
+
+    @Value("${app.blog.events.timeout-minutes:30}")
+    private long timeoutMinutes;
+
+    @Value("${app.blog.events.send-threads:4}")
+    private int sendThreads;
+
+    @Value("${app.blog.events.send-queue-capacity:1024}")
+    private int sendQueueCapacity;
+
+    @Value("${app.blog.events.send-timeout-seconds:10}")
+    private long sendTimeoutSeconds;
+
+    @Value("${app.blog.events.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<Long, UserChannel> channels = new ConcurrentHashMap<>();
+
+    private final long firstId = System.currentTimeMillis() * 1000;
+    private final AtomicLong lastId = new AtomicLong(firstId);
+
+    // Highest id held by any channel swept for inactivity; a new channel can't replay anything up to it
+    private final AtomicLong sweptThrough = new AtomicLong(firstId);
+
+    private final AtomicInteger connections = new AtomicInteger();
+
+    private ThreadPoolExecutor senderPool;
+    private ExecutorService sender;
+    private ScheduledExecutorService scheduler;
+    private Counter droppedEvents;
+    private Counter stalledConnections;
+
+    @PostConstruct
+    public void start() {
+        // At most one drain per connection is queued; a full queue closes the connection that couldn't get in
+        senderPool = new ThreadPoolExecutor(sendThreads, sendThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(sendQueueCapacity), daemonThreads("blog-events-send-"));
+        sender = ExecutorServiceMetrics.monitor(meterRegistry, senderPool, "blogEvents");
+        scheduler = Executors.newSingleThreadScheduledExecutor(daemonThreads("blog-events-heartbeat-"));
+        scheduler.scheduleWithFixedDelay(this::heartbeatAndSweep, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        scheduler.scheduleWithFixedDelay(this::closeStalled, 1, 1, TimeUnit.SECONDS);
+
+        droppedEvents = Counter.builder("blog.events.dropped")
+                .description("Events dropped from a full SSE connection buffer")
+                .register(meterRegistry);
+        stalledConnections = Counter.builder("blog.events.stalled")
+                .description("SSE connections closed because a send stayed blocked")
+                .register(meterRegistry);
+        Gauge.builder("blog.events.connections", connections, AtomicInteger::get)
+                .description("Open SSE event stream connections")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+        for (UserChannel channel : channels.values()) {
+            for (SseConnection connection : channel.snapshotConnections()) {
+                connection.complete();
+            }
+        }
+        senderPool.shutdown();
+    }
+
+    /**
+     * Opens a stream for {@code userId}. With a {@code lastEventId} the events
+     * after it are replayed first; registration and replay happen under the
+     * channel's lock, so an event committed meanwhile is sent exactly once.
+     * A user already at {@code max-connections-per-user} loses their oldest stream.
+     */
+    public SseEmitter subscribe(Long userId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(TimeUnit.MINUTES.toMillis(timeoutMinutes));
+        SseConnection connection = new SseConnection(emitter, bufferSize, sender, droppedEvents,
+                () -> disconnect(userId), scheduler);
+        Long resumeAfter = parseEventId(lastEventId);
+        List<SseConnection> displaced = new ArrayList<>();
+
+        channels.compute(userId, (id, channel) -> {
+            if (channel == null) {
+                channel = new UserChannel(sweptThrough.get());
+            }
+            while (!channel.connections.isEmpty() && channel.connections.size() >= maxConnectionsPerUser) {
+                displaced.add(channel.connections.pollFirst());
+            }
+            channel.connections.addLast(connection);
+            connection.offer(StreamEvent.OPEN);
+            if (resumeAfter != null) {
+                if (resumeAfter < channel.evictedThrough || resumeAfter > lastId.get()) {
+                    connection.offerResync();
+                } else {
+                    for (StreamEvent event : channel.log) {
+                        if (event.getId() > resumeAfter) {
+                            connection.offer(event);
+                        }
+                    }
+                }
+            }
+            return channel;
+        });
+        connections.incrementAndGet();
+        // Completed outside the channel update, since closing one re-enters it
+        for (SseConnection oldest : displaced) {
+            oldest.complete();
+        }
+
+        emitter.onCompletion(connection::close);
+        emitter.onError(e -> connection.close());
+        // Ending the response normally lets the client reconnect with Last-Event-ID
+        emitter.onTimeout(emitter::complete);
+        return emitter;
+    }
+
+    // Unparseable ids are treated like an id from before the log, which gets a resync
+    private Long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    private void disconnect(Long userId) {
+        channels.computeIfPresent(userId, (id, channel) -> {
+            channel.connections.removeIf(connection -> connection.isClosed());
+            channel.touch();
+            return channel;
+        });
+        connections.decrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBlogChanged(BlogChangedEvent event) {
+        BlogSummaryDto summary = event.getType() == BlogChangeType.DELETED
+                ? new BlogSummaryDto(event.getBlogId(), null, null, event.isPublished(), null, null)
+                : new BlogSummaryDto(event.getBlogId(), event.getTitle(), BlogExcerpt.of(event.getContent()),
+                        event.isPublished(), event.getCreatedAt(), event.getUpdatedAt());
+        String name = event.getType().name().toLowerCase(Locale.ROOT);
+
+        // Users who never subscribed have no channel and cost nothing here
+        channels.computeIfPresent(event.getUserId(), (id, channel) -> {
+            // Numbered under the channel lock so each user's log is in id order
+            StreamEvent streamEvent = new StreamEvent(lastId.incrementAndGet(), name, summary);
+            channel.append(streamEvent, replaySize);
+            for (SseConnection connection : channel.connections) {
+                connection.offer(streamEvent);
+            }
+            return channel;
+        });
+    }
+
+    private void heartbeatAndSweep() {
+        long idleBefore = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(replayTtlMinutes);
+        for (Long userId : channels.keySet()) {
+            UserChannel current = channels.computeIfPresent(userId, (id, channel) -> {
+                if (channel.connections.isEmpty() && channel.lastActiveAt < idleBefore) {
+                    sweptThrough.accumulateAndGet(channel.lastLoggedId(), Math::max);
+                    return null;
+                }
+                return channel;
+            });
+            if (current != null) {
+                for (SseConnection connection : current.snapshotConnections()) {
+                    connection.heartbeat();
+                }
+            }
+        }
+    }
+
+    private void closeStalled() {
+        long now = System.nanoTime();
+        long timeout = TimeUnit.SECONDS.toNanos(sendTimeoutSeconds);
+        for (UserChannel channel : channels.values()) {
+            for (SseConnection connection : channel.snapshotConnections()) {
+                if (connection.closeIfStalled(now, timeout)) {
+                    stalledConnections.increment();
+                }
+            }
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // Mutated only inside channels.compute*, which serialises access per user
+    private static final class UserChannel {
+        // Oldest first, so the one to close at the per-user cap is at the head
+        private final Deque<SseConnection> connections = new ConcurrentLinkedDeque<>();
+        private final ArrayDeque<StreamEvent> log = new ArrayDeque<>();
+        // Id of the newest event no longer in the log
+        private long evictedThrough;
+        private volatile long lastActiveAt = System.currentTimeMillis();
+
+        UserChannel(long evictedThrough) {
+            this.evictedThrough = evictedThrough;
+        }
+
+        void append(StreamEvent event, int replaySize) {
+            log.addLast(event);
+            if (log.size() > replaySize) {
+                evictedThrough = log.pollFirst().getId();
+            }
+            touch();
+        }
+
+        void touch() {
+            lastActiveAt = System.currentTimeMillis();
+        }
+
+        long lastLoggedId() {
+            return log.isEmpty() ? evictedThrough : log.peekLast().getId();
+        }
+
+        List<SseConnection> snapshotConnections() {
+            return new ArrayList<>(connections);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.blogapi.stream;
+
+import io.micrometer.core.instrument.Counter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * An open SSE response with its own bounded queue. Offering never blocks: when
+ * the client falls {@code capacity} events behind, the oldest is dropped and the
+ * client is sent a {@code resync} ahead of the next event so it knows to reload.
+ * At most one drain per connection runs on the sender pool, which keeps the
+ * events in order. The pool is small and fixed, so a send blocked on a stalled
+ * socket is cut off by {@link #closeIfStalled} rather than left holding a
+ * sender thread; if the pool's queue is full the connection is closed as well,
+ * and the client reconnects with {@code Last-Event-ID}.
+ */
+final class SseConnection {
+
+    private final SseEmitter emitter;
+    private final int capacity;
+    private final Executor sender;
+    private final Counter droppedEvents;
+    private final Runnable onClose;
+    // Runs closes that can't happen on the offering thread, which may hold the channel's lock
+    private final Executor closer;
+
+    private final ArrayDeque<StreamEvent> pending;
+    private boolean draining;
+    private boolean resyncNeeded;
+    // The drain thread while it is inside emitter.send, and when that send started
+    private Thread sendingThread;
+    private long sendStartedAt;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    SseConnection(SseEmitter emitter, int capacity, Executor sender, Counter droppedEvents, Runnable onClose,
+                  Executor closer) {
+        this.emitter = emitter;
+        this.capacity = capacity;
+        this.sender = sender;
+        this.droppedEvents = droppedEvents;
+        this.onClose = onClose;
+        this.closer = closer;
+        this.pending = new ArrayDeque<>(capacity);
+    }
+
+    void offer(StreamEvent event) {
+        synchronized (this) {
+            if (closed.get()) {
+                return;
+            }
+            if (pending.size() == capacity) {
+                pending.pollFirst();
+                resyncNeeded = true;
+                droppedEvents.increment();
+            }
+            pending.addLast(event);
+            if (!startDrain()) {
+                return;
+            }
+        }
+        schedule();
+    }
+
+    // Tells the client its state can't be brought up to date by events alone
+    void offerResync() {
+        synchronized (this) {
+            resyncNeeded = true;
+            if (!startDrain()) {
+                return;
+            }
+        }
+        schedule();
+    }
+
+    // Only sent to an idle connection; one with events in flight is already proving it's alive
+    void heartbeat() {
+        synchronized (this) {
+            if (closed.get() || draining) {
+                return;
+            }
+            pending.addLast(StreamEvent.HEARTBEAT);
+            draining = true;
+        }
+        schedule();
+    }
+
+    void close() {
+        if (closed.compareAndSet(false, true)) {
+            synchronized (this) {
+                pending.clear();
+            }
+            onClose.run();
+        }
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    void complete() {
+        close();
+        emitter.complete();
+    }
+
+    /**
+     * Closes the connection if a send has been blocked for longer than
+     * {@code timeoutNanos}. The send is interrupted and the response completed,
+     * so the sender thread is released as soon as the container lets go of the write.
+     */
+    boolean closeIfStalled(long now, long timeoutNanos) {
+        synchronized (this) {
+            if (sendingThread == null || now - sendStartedAt < timeoutNanos) {
+                return false;
+            }
+            sendingThread.interrupt();
+        }
+        complete();
+        return true;
+    }
+
+    private boolean startDrain() {
+        if (draining) {
+            return false;
+        }
+        draining = true;
+        return true;
+    }
+
+    private void schedule() {
+        try {
+            sender.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            // Sender queue full, or shutting down; may run inside the channel update, so the close is handed off
+            try {
+                closer.execute(this::complete);
+            } catch (RejectedExecutionException shuttingDown) {
+                closed.set(true);
+            }
+        }
+    }
+
+    private void send(SseEmitter.SseEventBuilder event) throws IOException {
+        synchronized (this) {
+            sendingThread = Thread.currentThread();
+            sendStartedAt = System.nanoTime();
+        }
+        try {
+            emitter.send(event);
+        } finally {
+            synchronized (this) {
+                sendingThread = null;
+            }
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            StreamEvent next;
+            boolean resync;
+            synchronized (this) {
+                resync = resyncNeeded;
+                next = pending.pollFirst();
+                if (closed.get() || (next == null && !resync)) {
+                    draining = false;
+                    return;
+                }
+                resyncNeeded = false;
+            }
+            try {
+                if (resync) {
+                    send(SseEmitter.event().name(StreamEvent.RESYNC).data(""));
+                }
+                if (next != null) {
+                    send(next.toSse());
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away, the response already completed, or the send was cut off as stalled
+                synchronized (this) {
+                    draining = false;
+                }
+                close();
+                return;
+            }
+        }
+    }
+}
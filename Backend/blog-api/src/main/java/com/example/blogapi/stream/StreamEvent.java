@@ -0,0 +1,45 @@
+package com.example.blogapi.stream;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * One message queued for an SSE connection. Shared between the replay log and
+ * every connection it is offered to, so it holds the payload object and each
+ * send builds its own frame.
+ */
+final class StreamEvent {
+
+    static final String RESYNC = "resync";
+
+    // How long a client waits before reconnecting after the stream ends
+    static final long RECONNECT_MILLIS = 3000;
+
+    // First frame of every stream; nothing reaches the client, headers included, until something is sent
+    static final StreamEvent OPEN = new StreamEvent(0, null, null);
+
+    static final StreamEvent HEARTBEAT = new StreamEvent(0, null, null);
+
+    private final long id;
+    private final String name;
+    private final Object data;
+
+    StreamEvent(long id, String name, Object data) {
+        this.id = id;
+        this.name = name;
+        this.data = data;
+    }
+
+    long getId() {
+        return id;
+    }
+
+    SseEmitter.SseEventBuilder toSse() {
+        if (this == OPEN) {
+            return SseEmitter.event().reconnectTime(RECONNECT_MILLIS).comment("connected");
+        }
+        if (this == HEARTBEAT) {
+            return SseEmitter.event().comment("heartbeat");
+        }
+        return SseEmitter.event().id(Long.toString(id)).name(name).data(data);
+    }
+}
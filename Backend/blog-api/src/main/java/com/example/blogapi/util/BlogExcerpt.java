@@ -0,0 +1,47 @@
+// src/main/java/com/example/blogapi/util/BlogExcerpt.java
+package com.example.blogapi.util;
+
+/**
+ * The short plain-text preview stored with each blog, so list views can show
+ * one without reading the body.
+ */
+public final class BlogExcerpt {
+
+    public static final int MAX_LENGTH = 200;
+
+    private BlogExcerpt() {
+    }
+
+    /**
+     * The start of {@code content} with runs of whitespace collapsed to one
+     * space, cut at {@link #MAX_LENGTH} characters without splitting a
+     * surrogate pair; null for a null body.
+     */
+    public static String of(String content) {
+        if (content == null) {
+            return null;
+        }
+        StringBuilder excerpt = new StringBuilder(Math.min(content.length(), MAX_LENGTH));
+        boolean space = false;
+        for (int i = 0; i < content.length() && excerpt.length() < MAX_LENGTH; i++) {
+            char c = content.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = excerpt.length() > 0;
+                continue;
+            }
+            if (space) {
+                if (excerpt.length() + 1 == MAX_LENGTH) {
+                    break;
+                }
+                excerpt.append(' ');
+                space = false;
+            }
+            excerpt.append(c);
+        }
+        int length = excerpt.length();
+        if (length == MAX_LENGTH && Character.isHighSurrogate(excerpt.charAt(length - 1))) {
+            excerpt.setLength(length - 1);
+        }
+        return excerpt.toString();
+    }
+}
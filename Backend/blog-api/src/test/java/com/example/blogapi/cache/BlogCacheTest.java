@@ -0,0 +1,74 @@
+package com.example.blogapi.cache;
+
+import com.example.blogapi.dto.BlogDto;
+import com.example.blogapi.exception.BlogAccessDeniedException;
+import com.example.blogapi.exception.BlogNotFoundException;
+import com.example.blogapi.model.User;
+import com.example.blogapi.service.BlogService;
+import com.example.blogapi.support.BlogFixtures;
+import com.example.blogapi.support.BlogServiceSliceTest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Not transactional: invalidation runs after the service transaction commits
+@BlogServiceSliceTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BlogCacheTest {
+
+    @Autowired
+    private BlogFixtures fixtures;
+
+    @Autowired
+    private BlogService blogService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void repeatedReadsAreServedFromCache() {
+        User author = fixtures.createUser("cached@example.com");
+        Long blogId = blogService.createBlog("Title", "Body", true, author).getId();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        blogService.getBlogById(blogId, author);
+        BlogDto second = blogService.getBlogById(blogId, author);
+
+        assertEquals("Title", second.getTitle());
+        assertEquals("cached@example.com", second.getUser().getEmail());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void updateAndDeleteInvalidateTheEntry() {
+        User author = fixtures.createUser("invalidate@example.com");
+        Long blogId = blogService.createBlog("Before", "Body", false, author).getId();
+        blogService.getBlogById(blogId, author);
+
+        blogService.updateBlog(blogId, "After", "Body", true, null, author);
+        BlogDto updated = blogService.getBlogById(blogId, author);
+        assertEquals("After", updated.getTitle());
+        assertEquals(true, updated.isPublished());
+
+        blogService.deleteBlog(blogId, author);
+        assertThrows(BlogNotFoundException.class, () -> blogService.getBlogById(blogId, author));
+    }
+
+    @Test
+    void cachedEntryStillChecksOwnership() {
+        User author = fixtures.createUser("owner@example.com");
+        User other = fixtures.createUser("other@example.com");
+        Long blogId = blogService.createBlog("Private", "Body", false, author).getId();
+        blogService.getBlogById(blogId, author);
+
+        assertThrows(BlogAccessDeniedException.class, () -> blogService.getBlogById(blogId, other));
+    }
+}
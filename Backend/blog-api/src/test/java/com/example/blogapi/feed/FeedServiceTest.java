@@ -0,0 +1,156 @@
+package com.example.blogapi.feed;
+
+import com.example.blogapi.dto.CursorPageDto;
+import com.example.blogapi.dto.FeedItemDto;
+import com.example.blogapi.event.BlogChangeType;
+import com.example.blogapi.event.BlogChangedEvent;
+import com.example.blogapi.model.User;
+import com.example.blogapi.repository.BlogRepository;
+import com.example.blogapi.support.BlogFixtures;
+import com.example.blogapi.support.BlogJpaTest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@BlogJpaTest
+@TestPropertySource(properties = "app.feed.capacity=5")
+@Import({FeedService.class, FeedTimeline.class, SimpleMeterRegistry.class})
+class FeedServiceTest {
+
+    @Autowired
+    private BlogFixtures fixtures;
+
+    @Autowired
+    private FeedService feedService;
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private User alice;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        alice = fixtures.createUser("Alice", "feed-alice@example.com");
+        User bob = fixtures.createUser("Bob", "feed-bob@example.com");
+        for (int i = 0; i < 6; i++) {
+            fixtures.createBlog(alice, "Alice " + i, "Body", true);
+            fixtures.createBlog(bob, "Bob " + i, "Body", i % 2 == 0);
+            fixtures.createBlog(alice, "Draft " + i, "Body", false);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        // The context loaded the timeline at startup, before these posts existed
+        feedService.loadTimeline();
+    }
+
+    @Test
+    void bufferedPagesSkipTheDatabaseAndDeeperPagesFallBack() {
+        List<Long> expected = blogRepository.findFirstFeedPage(PageRequest.of(0, 100)).stream()
+                .map(FeedItemDto::getId).collect(Collectors.toList());
+        assertEquals(9, expected.size());
+
+        statistics.clear();
+        CursorPageDto<FeedItemDto> first = feedService.getFeed(null, 2);
+        assertEquals(expected.subList(0, 2), ids(first));
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        // Walking past the five buffered posts switches to the index without changing the results
+        assertEquals(expected, walk(2));
+        assertEquals(expected, walk(4));
+    }
+
+    @Test
+    void publishFlipsAreAppliedToTheTimeline() {
+        List<FeedItemDto> top = feedService.getFeed(null, 2).getItems();
+        FeedItemDto newest = top.get(0);
+
+        feedService.onBlogChanged(new BlogChangedEvent(BlogChangeType.UPDATED, newest.getId(), newest.getAuthorId(),
+                newest.getTitle(), "Body", false, newest.getCreatedAt(), LocalDateTime.now()));
+        assertEquals(top.get(1).getId(), feedService.getFeed(null, 2).getItems().get(0).getId());
+
+        // The author is already known, so a new post costs no lookup
+        statistics.clear();
+        LocalDateTime later = newest.getCreatedAt().plusMinutes(1);
+        feedService.onBlogChanged(new BlogChangedEvent(BlogChangeType.CREATED, 999L, alice.getId(),
+                "Fresh", "Body", true, later, later));
+        FeedItemDto fresh = feedService.getFeed(null, 2).getItems().get(0);
+        assertEquals(999L, fresh.getId());
+        assertEquals("Alice", fresh.getAuthorName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        feedService.onBlogChanged(new BlogChangedEvent(BlogChangeType.DELETED, 999L, alice.getId(),
+                null, null, true, later, later.plusSeconds(1)));
+        assertFalse(ids(feedService.getFeed(null, 2)).contains(999L));
+    }
+
+    @Test
+    void changesArrivingOutOfOrderKeepTheNewest() {
+        FeedItemDto newest = feedService.getFeed(null, 1).getItems().get(0);
+        LocalDateTime edited = newest.getUpdatedAt().plusSeconds(1);
+
+        // Unpublished at +2s, then the publish from +1s lands late: the draft stays out of the feed
+        feedService.onBlogChanged(changed(newest, "Draft again", false, edited.plusSeconds(1)));
+        feedService.onBlogChanged(changed(newest, "Published", true, edited));
+        assertFalse(ids(feedService.getFeed(null, 2)).contains(newest.getId()));
+
+        // Republished at +4s, then an unpublish from +3s lands late: the post stays in
+        feedService.onBlogChanged(changed(newest, "Republished", true, edited.plusSeconds(3)));
+        feedService.onBlogChanged(changed(newest, "Draft", false, edited.plusSeconds(2)));
+        assertEquals("Republished", feedService.getFeed(null, 1).getItems().get(0).getTitle());
+
+        // An older edit doesn't replace a newer one
+        feedService.onBlogChanged(changed(newest, "Stale title", true, edited.plusSeconds(2)));
+        assertEquals("Republished", feedService.getFeed(null, 1).getItems().get(0).getTitle());
+
+        // Deleted at +6s; the edit from +5s can't bring it back
+        feedService.onBlogChanged(new BlogChangedEvent(BlogChangeType.DELETED, newest.getId(), newest.getAuthorId(),
+                null, null, true, newest.getCreatedAt(), edited.plusSeconds(5)));
+        feedService.onBlogChanged(changed(newest, "Zombie", true, edited.plusSeconds(4)));
+        assertFalse(ids(feedService.getFeed(null, 2)).contains(newest.getId()));
+    }
+
+    private BlogChangedEvent changed(FeedItemDto item, String title, boolean published, LocalDateTime updatedAt) {
+        return new BlogChangedEvent(BlogChangeType.UPDATED, item.getId(), item.getAuthorId(),
+                title, "Body", published, item.getCreatedAt(), updatedAt);
+    }
+
+    private List<Long> walk(int limit) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageDto<FeedItemDto> page = feedService.getFeed(cursor, limit);
+            ids.addAll(ids(page));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private List<Long> ids(CursorPageDto<FeedItemDto> page) {
+        return page.getItems().stream().map(FeedItemDto::getId).collect(Collectors.toList());
+    }
+}
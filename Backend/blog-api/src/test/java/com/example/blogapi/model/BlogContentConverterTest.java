@@ -0,0 +1,51 @@
+package com.example.blogapi.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BlogContentConverterTest {
+
+    private final BlogContentConverter converter = new BlogContentConverter();
+
+    @Test
+    void shortBodiesAreStoredAsPlainUtf8() {
+        String body = "Short post – with ünïcode";
+
+        byte[] stored = converter.convertToDatabaseColumn(body);
+
+        assertEquals(BlogContentConverter.PLAIN, stored[0]);
+        assertEquals(body.getBytes(StandardCharsets.UTF_8).length + 1, stored.length);
+        assertEquals(body, converter.convertToEntityAttribute(stored));
+        assertEquals("", converter.convertToEntityAttribute(converter.convertToDatabaseColumn("")));
+    }
+
+    @Test
+    void longBodiesAreDeflatedWhenThatSavesSpace() {
+        String body = "Performance matters when posts get long. ".repeat(500);
+
+        byte[] stored = converter.convertToDatabaseColumn(body);
+
+        assertEquals(BlogContentConverter.DEFLATED, stored[0]);
+        assertTrue(stored.length < body.length() / 10, "stored " + stored.length + " bytes");
+        assertEquals(body, converter.convertToEntityAttribute(stored));
+    }
+
+    @Test
+    void incompressibleBodiesStayPlain() {
+        byte[] noise = new byte[4096];
+        new Random(42).nextBytes(noise);
+        String body = Base64.getEncoder().encodeToString(noise);
+
+        byte[] stored = converter.convertToDatabaseColumn(body);
+
+        // Base64 still deflates a little, so either form is fine as long as it never grows
+        assertTrue(stored.length <= body.length() + 1);
+        assertEquals(body, converter.convertToEntityAttribute(stored));
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.blogapi.outbox;
+
+import com.example.blogapi.event.BlogChangeType;
+import com.example.blogapi.event.BlogChangedEvent;
+import com.example.blogapi.model.OutboxEvent;
+import com.example.blogapi.repository.OutboxEventRepository;
+import com.example.blogapi.repository.OutboxOffsetRepository;
+import com.example.blogapi.support.BlogJpaTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Not transactional: the writer only records events of transactions that commit
+@BlogJpaTest
+@TestPropertySource(properties = {
+        "app.outbox.batch-size=3",
+        "app.outbox.max-attempts=2",
+        "app.outbox.retry-backoff-ms=0"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@Import({OutboxDispatcher.class, OutboxWriter.class, SimpleMeterRegistry.class, OutboxDispatcherTest.Handlers.class})
+class OutboxDispatcherTest {
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private RecordingHandler handler;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxOffsetRepository outboxOffsetRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void registerHandler() {
+        // Handlers start from the end of the outbox as it is when they are first seen
+        outboxDispatcher.dispatch();
+    }
+
+    @Test
+    void onlyCommittedChangesAreRecorded() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            publish(1L);
+            publish(2L);
+        });
+        transaction.executeWithoutResult(status -> {
+            publish(3L);
+            status.setRollbackOnly();
+        });
+
+        assertEquals(List.of(1L, 2L), outboxEventRepository.findAll().stream().map(OutboxEvent::getBlogId).toList());
+    }
+
+    @Test
+    void failingEventIsIsolatedRetriedAndSkippedWithoutStallingTheRest() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            for (long blogId = 1; blogId <= 7; blogId++) {
+                publish(blogId);
+            }
+        });
+        handler.poisonBlogId = 5L;
+
+        // [1,2,3] goes through; [4,5,6] fails, so those are retried one by one until 5 runs out of attempts
+        for (int poll = 0; poll < 3; poll++) {
+            outboxDispatcher.dispatch();
+        }
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 6L, 7L), handler.handled);
+        assertEquals(1.0, meterRegistry.counter("blog.outbox.dead", "handler", "recording").count());
+        assertEquals(outboxEventRepository.findMaxId(), outboxOffsetRepository.findById("recording").get().getLastId());
+    }
+
+    @Test
+    void waitsAtAGapUntilItCanOnlyBeARollback() {
+        insertAt(1, LocalDateTime.now());
+        insertAt(3, LocalDateTime.now());
+
+        outboxDispatcher.dispatch();
+        assertEquals(List.of(1L), handler.handled);
+
+        jdbcTemplate.update("UPDATE blog_outbox SET created_at = ? WHERE id = 3", LocalDateTime.now().minusMinutes(1));
+        outboxDispatcher.dispatch();
+        assertEquals(List.of(1L, 3L), handler.handled);
+    }
+
+    private void publish(long blogId) {
+        LocalDateTime now = LocalDateTime.now();
+        eventPublisher.publishEvent(new BlogChangedEvent(BlogChangeType.CREATED, blogId, 10L, "Title", "Body",
+                false, now, now));
+    }
+
+    private void insertAt(long id, LocalDateTime createdAt) {
+        jdbcTemplate.update("INSERT INTO blog_outbox (id, event_type, blog_id, user_id, created_at) VALUES (?, ?, ?, ?, ?)",
+                id, "CREATED", id, 10L, createdAt);
+    }
+
+    static class RecordingHandler implements OutboxHandler {
+        private final List<Long> handled = new ArrayList<>();
+        private Long poisonBlogId;
+
+        @Override
+        public String getName() {
+            return "recording";
+        }
+
+        @Override
+        public void handle(List<OutboxEvent> events) {
+            if (events.stream().anyMatch(event -> event.getBlogId().equals(poisonBlogId))) {
+                throw new IllegalStateException("Cannot handle blog " + poisonBlogId);
+            }
+            events.forEach(event -> handled.add(event.getBlogId()));
+        }
+    }
+
+    @TestConfiguration
+    static class Handlers {
+        @Bean
+        RecordingHandler recordingHandler() {
+            return new RecordingHandler();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.blogapi.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BlogSearchIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Test
+    void ranksTitleMatchesAboveBodyMatchesAndScopesByUser() {
+        BlogSearchIndex index = new BlogSearchIndex();
+        index.index(1, 10, "Spring Boot tips", "Configuration and starters", NOW);
+        index.index(2, 10, "Weekend notes", "Tried spring boot once", NOW);
+        index.index(3, 20, "Spring Boot for others", "Not visible to user 10", NOW);
+
+        assertEquals(List.of(1L, 2L), ids(index.search(10, "spring boot", 10)));
+        assertEquals(List.of(3L), ids(index.search(20, "Spring", 10)));
+    }
+
+    @Test
+    void updatesReplaceTermsAndDeletesRemoveDocuments() {
+        BlogSearchIndex index = new BlogSearchIndex();
+        index.index(1, 10, "Java", "records and sealed classes", NOW);
+        index.index(1, 10, "Kotlin", "data classes", NOW.plusMinutes(1));
+
+        assertTrue(index.search(10, "records", 10).isEmpty());
+        assertEquals(List.of(1L), ids(index.search(10, "kotlin", 10)));
+
+        index.remove(1);
+        assertTrue(index.search(10, "kotlin", 10).isEmpty());
+    }
+
+    @Test
+    void rebuildNeverOverwritesNewerOrDeletedDocuments() {
+        BlogSearchIndex index = new BlogSearchIndex();
+        index.beginRebuild();
+        index.index(1, 10, "Fresh title", "", NOW.plusMinutes(5));
+        index.remove(2);
+
+        index.indexFromRebuild(1, 10, "Stale title", "", NOW);
+        index.indexFromRebuild(2, 10, "Deleted post", "", NOW);
+        index.endRebuild();
+
+        assertEquals(List.of(1L), ids(index.search(10, "fresh", 10)));
+        assertTrue(index.search(10, "stale", 10).isEmpty());
+        assertTrue(index.search(10, "deleted", 10).isEmpty());
+    }
+
+    private static List<Long> ids(List<SearchHit> hits) {
+        return hits.stream().map(SearchHit::getBlogId).collect(Collectors.toList());
+    }
+}
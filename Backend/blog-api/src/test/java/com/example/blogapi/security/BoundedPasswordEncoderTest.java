@@ -0,0 +1,59 @@
+package com.example.blogapi.security;
+
+import com.example.blogapi.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedPasswordEncoderTest {
+
+    @Test
+    void rejectsWhenWorkersAndQueueAreFull() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        PasswordEncoder slow = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(slow, 1, 1, new SimpleMeterRegistry());
+        try {
+            Thread running = new Thread(() -> encoder.encode("first"));
+            Thread queued = new Thread(() -> encoder.encode("second"));
+            running.start();
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            queued.start();
+            while (queued.getState() != Thread.State.WAITING) {
+                Thread.sleep(5);
+            }
+
+            assertThrows(TooManyRequestsException.class, () -> encoder.encode("third"));
+
+            release.countDown();
+            running.join();
+            queued.join();
+            assertTrue(encoder.matches("fourth", "fourth"));
+        } finally {
+            release.countDown();
+            encoder.shutdown();
+        }
+    }
+}
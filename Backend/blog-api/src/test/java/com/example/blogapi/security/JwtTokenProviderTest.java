@@ -0,0 +1,70 @@
+package com.example.blogapi.security;
+
+import com.example.blogapi.model.User;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtTokenProviderTest {
+
+    private final JwtTokenProvider provider = provider();
+    private final User author = author();
+
+    @Test
+    void accessAndRefreshTokensAreNotInterchangeable() {
+        String access = provider.generateAccessToken(author);
+        String refresh = provider.generateRefreshToken(author);
+
+        assertEquals("author@example.com", provider.parseClaims(access).getSubject());
+        assertNull(provider.parseRefreshClaims(access));
+        assertNotNull(provider.parseRefreshClaims(refresh));
+        assertNull(provider.parseClaims(refresh));
+    }
+
+    @Test
+    void revokedTokenIsRejectedEvenWhenAlreadyVerified() {
+        String access = provider.generateAccessToken(author);
+        Claims claims = provider.parseClaims(access);
+
+        assertTrue(provider.revoke(claims));
+        assertFalse(provider.revoke(claims));
+        assertNull(provider.parseClaims(access));
+    }
+
+    @Test
+    void principalIsBuiltFromClaimsAlone() {
+        AuthenticatedUser principal = provider.toPrincipal(provider.parseClaims(provider.generateAccessToken(author)));
+
+        assertEquals(42L, principal.getId());
+        assertEquals("author@example.com", principal.getEmail());
+        assertEquals(3, principal.getTokenVersion());
+    }
+
+    private static User author() {
+        User user = new User();
+        user.setId(42L);
+        user.setName("Author");
+        user.setEmail("author@example.com");
+        user.setTokenVersion(3);
+        return user;
+    }
+
+    private static JwtTokenProvider provider() {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", "test_secret_key_that_is_long_enough_for_hmac_sha256");
+        ReflectionTestUtils.setField(provider, "accessExpirationInMs", 60_000L);
+        ReflectionTestUtils.setField(provider, "refreshExpirationInMs", 600_000L);
+        ReflectionTestUtils.setField(provider, "verifiedCacheSize", 100L);
+        ReflectionTestUtils.setField(provider, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(provider, "revocationList", new TokenRevocationList());
+        provider.init();
+        return provider;
+    }
+}
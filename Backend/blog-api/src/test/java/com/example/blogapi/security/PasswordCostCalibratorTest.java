@@ -0,0 +1,28 @@
+package com.example.blogapi.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PasswordCostCalibratorTest {
+
+    @Test
+    void calibratedCostNeverDropsBelowTheConfiguredOne() {
+        assertEquals(310_000, PasswordCostCalibrator.doublingsOf(310_000, 120_000));
+        assertEquals(2, PasswordCostCalibrator.doublingsOf(2, 0.5));
+    }
+
+    @Test
+    void measurementNoiseLandsOnTheSameCost() {
+        // A few percent either way between restarts must not change the id hashes are stored under
+        assertEquals(1_240_000, PasswordCostCalibrator.doublingsOf(310_000, 1_260_000));
+        assertEquals(1_240_000, PasswordCostCalibrator.doublingsOf(310_000, 1_390_000));
+        assertEquals(8, PasswordCostCalibrator.doublingsOf(2, 9.4));
+        assertEquals(8, PasswordCostCalibrator.doublingsOf(2, 8.7));
+    }
+
+    @Test
+    void hugeMeasurementsDontOverflow() {
+        assertEquals(1 << 30, PasswordCostCalibrator.doublingsOf(1, 1e12));
+    }
+}
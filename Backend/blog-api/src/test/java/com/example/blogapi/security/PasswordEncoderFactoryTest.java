@@ -0,0 +1,92 @@
+package com.example.blogapi.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordEncoderFactoryTest {
+
+    @Test
+    void legacyUnprefixedBcryptHashesVerifyAndAskForUpgrade() {
+        PasswordEncoder encoder = factory("pbkdf2").create();
+        String legacy = new BCryptPasswordEncoder().encode("secret");
+
+        assertTrue(encoder.matches("secret", legacy));
+        assertTrue(encoder.upgradeEncoding(legacy));
+    }
+
+    @Test
+    void newHashesUseTheConfiguredAlgorithmAndNeedNoUpgrade() {
+        PasswordEncoder encoder = factory("argon2").create();
+        String hash = encoder.encode("secret");
+
+        assertTrue(hash.startsWith("{argon2}"));
+        assertTrue(encoder.matches("secret", hash));
+        assertFalse(encoder.upgradeEncoding(hash));
+    }
+
+    @Test
+    void raisingBcryptStrengthUpgradesWeakerHashes() {
+        PasswordEncoder weak = factory("bcrypt").create();
+        String hash = weak.encode("secret");
+
+        PasswordEncoderFactory strongerFactory = factory("bcrypt");
+        ReflectionTestUtils.setField(strongerFactory, "bcryptStrength", 6);
+        PasswordEncoder stronger = strongerFactory.create();
+
+        assertTrue(stronger.matches("secret", hash));
+        assertTrue(stronger.upgradeEncoding(hash));
+    }
+
+    @Test
+    void calibrationStartsFromTheConfiguredCost() {
+        PasswordEncoderFactory calibrated = factory("pbkdf2");
+        ReflectionTestUtils.setField(calibrated, "calibrate", true);
+        ReflectionTestUtils.setField(calibrated, "targetMillis", 0L);
+
+        assertTrue(calibrated.create().encode("secret").startsWith("{pbkdf2@1000}"));
+    }
+
+    @Test
+    void changingPbkdf2IterationsKeepsOldHashesVerifiableAndUpgradesThem() {
+        String hash = factory("pbkdf2").create().encode("secret");
+        assertTrue(hash.startsWith("{pbkdf2@1000}"));
+
+        PasswordEncoderFactory strongerFactory = factory("pbkdf2");
+        ReflectionTestUtils.setField(strongerFactory, "pbkdf2Iterations", 2000);
+        PasswordEncoder stronger = strongerFactory.create();
+
+        assertTrue(stronger.matches("secret", hash));
+        assertFalse(stronger.matches("wrong", hash));
+        assertTrue(stronger.upgradeEncoding(hash));
+        assertFalse(stronger.upgradeEncoding(stronger.encode("secret")));
+    }
+
+    @Test
+    void untaggedPbkdf2HashesVerifyAtTheirConfiguredCount() {
+        String untagged = "{pbkdf2}" + new Pbkdf2PasswordEncoder("", 16, 1000,
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256).encode("secret");
+        PasswordEncoder encoder = factory("pbkdf2").create();
+
+        assertTrue(encoder.matches("secret", untagged));
+        assertTrue(encoder.upgradeEncoding(untagged));
+    }
+
+    // Low costs keep the test fast; the encoders only differ by parameters
+    private PasswordEncoderFactory factory(String algorithm) {
+        PasswordEncoderFactory factory = new PasswordEncoderFactory();
+        ReflectionTestUtils.setField(factory, "algorithm", algorithm);
+        ReflectionTestUtils.setField(factory, "bcryptStrength", 4);
+        ReflectionTestUtils.setField(factory, "pbkdf2Iterations", 1000);
+        ReflectionTestUtils.setField(factory, "pbkdf2UntaggedIterations", 1000);
+        ReflectionTestUtils.setField(factory, "argon2MemoryKib", 1024);
+        ReflectionTestUtils.setField(factory, "argon2Iterations", 1);
+        ReflectionTestUtils.setField(factory, "argon2Parallelism", 1);
+        return factory;
+    }
+}
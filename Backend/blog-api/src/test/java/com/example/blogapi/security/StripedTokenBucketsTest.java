@@ -0,0 +1,58 @@
+package com.example.blogapi.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StripedTokenBucketsTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void eachKeyGetsItsOwnBurstThenReportsWait() {
+        StripedTokenBuckets buckets = new StripedTokenBuckets(3, 60, 1000);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, buckets.tryAcquire(1L, 0));
+        }
+        assertEquals(SECOND, buckets.tryAcquire(1L, 0));
+        assertEquals(0, buckets.tryAcquire(2L, 0));
+
+        // One token a second: half a second in, half a token is still missing
+        assertEquals(SECOND / 2, buckets.tryAcquire(1L, SECOND / 2));
+        assertEquals(0, buckets.tryAcquire(1L, SECOND));
+        assertEquals(2, buckets.size());
+    }
+
+    @Test
+    void idleBucketsAreEvictedOnceFull() {
+        StripedTokenBuckets buckets = new StripedTokenBuckets(3, 60, 1000);
+        for (long key = 0; key < 500; key++) {
+            buckets.tryAcquire(key, 0);
+        }
+        for (int i = 0; i < 3; i++) {
+            buckets.tryAcquire(7L, 2 * SECOND);
+        }
+
+        // Three seconds refill everything but key 7, which was drained since
+        assertEquals(499, buckets.evictIdle(3 * SECOND));
+        assertEquals(1, buckets.size());
+        assertEquals(0, buckets.tryAcquire(7L, 3 * SECOND));
+        assertTrue(buckets.tryAcquire(7L, 3 * SECOND) > 0, "key 7 kept its bucket through eviction");
+    }
+
+    @Test
+    void keysBeyondTheLimitAreLetThroughUntracked() {
+        // 64 keys over 64 stripes: one bucket per stripe
+        StripedTokenBuckets buckets = new StripedTokenBuckets(1, 60, 64);
+        for (long key = 0; key < 1000; key++) {
+            assertEquals(0, buckets.tryAcquire(key, 0));
+        }
+
+        assertTrue(buckets.size() <= 64, "size was " + buckets.size());
+        assertEquals(1000, buckets.size() + buckets.untracked());
+    }
+}
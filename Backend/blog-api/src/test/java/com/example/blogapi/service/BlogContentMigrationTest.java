@@ -0,0 +1,90 @@
+package com.example.blogapi.service;
+
+import com.example.blogapi.model.BlogContentConverter;
+import com.example.blogapi.repository.BlogContentRepository;
+import com.example.blogapi.support.BlogFixtures;
+import com.example.blogapi.support.BlogJpaTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Not transactional: the migration commits batch by batch
+@BlogJpaTest
+@TestPropertySource(properties = {
+        "app.blog.content.migration.batch-size=2",
+        "app.blog.excerpt.backfill=true"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({BlogContentMigration.class, BlogContentConverter.class})
+class BlogContentMigrationTest {
+
+    @Autowired
+    private BlogContentMigration blogContentMigration;
+
+    @Autowired
+    private BlogContentRepository blogContentRepository;
+
+    @Autowired
+    private BlogFixtures fixtures;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void dropLegacyColumn() {
+        jdbcTemplate.execute("ALTER TABLE blogs DROP COLUMN IF EXISTS content");
+    }
+
+    @Test
+    void copiesLegacyBodiesAndKeepsNewerEdits() {
+        Long userId = fixtures.createUser("Legacy", "legacy-content@example.com").getId();
+
+        // The pre-migration schema, with bodies inline on blogs
+        jdbcTemplate.execute("ALTER TABLE blogs ADD COLUMN content CLOB");
+        for (int i = 0; i < 5; i++) {
+            jdbcTemplate.update("INSERT INTO blogs (title, content, published, created_at, updated_at, user_id, version) " +
+                    "VALUES (?, ?, FALSE, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, ?, 0)", "Post " + i, "Old body " + i, userId);
+        }
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM blogs WHERE user_id = ? ORDER BY id", Long.class, userId);
+        blogContentMigration.prepare();
+
+        // Until the copy runs, reads fall back to the old column
+        assertTrue(blogContentMigration.isPending());
+        assertEquals("Old body 1", blogContentMigration.findUnmigrated(ids).get(ids.get(1)));
+
+        // An edit made before the copy reaches the row is written to the new table and must survive it
+        jdbcTemplate.update("INSERT INTO blog_content (blog_id, content) VALUES (?, ?)",
+                ids.get(3), new BlogContentConverter().convertToDatabaseColumn("Edited body"));
+
+        blogContentMigration.migrate();
+
+        assertFalse(blogContentMigration.isPending());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM blogs WHERE content IS NOT NULL", Integer.class));
+        Map<Long, String> bodies = new HashMap<>();
+        blogContentRepository.findAllById(ids).forEach(content -> bodies.put(content.getBlogId(), content.getContent()));
+        assertEquals(5, bodies.size());
+        assertEquals("Old body 0", bodies.get(ids.get(0)));
+        assertEquals("Edited body", bodies.get(ids.get(3)));
+        assertEquals("Old body 4", bodies.get(ids.get(4)));
+
+        // Excerpts are filled from the moved bodies, except where an edit already wrote one
+        jdbcTemplate.update("UPDATE blogs SET excerpt = ? WHERE id = ?", "Edited", ids.get(3));
+        blogContentMigration.backfillExcerpts();
+        List<String> excerpts = jdbcTemplate.queryForList("SELECT excerpt FROM blogs WHERE user_id = ? ORDER BY id",
+                String.class, userId);
+        assertEquals(List.of("Old body 0", "Old body 1", "Old body 2", "Edited", "Old body 4"), excerpts);
+    }
+}
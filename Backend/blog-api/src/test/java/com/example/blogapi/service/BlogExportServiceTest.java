@@ -0,0 +1,68 @@
+package com.example.blogapi.service;
+
+import com.example.blogapi.model.BlogContentConverter;
+import com.example.blogapi.model.User;
+import com.example.blogapi.support.BlogFixtures;
+import com.example.blogapi.support.BlogJpaTest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@BlogJpaTest
+@AutoConfigureJson
+@Import({BlogExportService.class, BlogContentMigration.class, BlogContentConverter.class})
+class BlogExportServiceTest {
+
+    @Autowired
+    private BlogFixtures fixtures;
+
+    @Autowired
+    private BlogExportService blogExportService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void ndjsonWritesOneLinePerBlogNewestFirstAndDetachesEntities() throws IOException {
+        User user = fixtures.createUserWithBlogs("ndjson@example.com", 250);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = blogExportService.export(user, BlogExportService.Format.NDJSON, out);
+
+        String body = out.toString(StandardCharsets.UTF_8);
+        String[] lines = body.split("\n");
+        assertEquals(250, written);
+        assertTrue(body.endsWith("}\n") && !body.contains("\n "));
+        assertEquals(250, lines.length);
+        assertEquals("Post 249", objectMapper.readTree(lines[0]).path("title").asText());
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount(),
+                "exported blogs left in the persistence context");
+    }
+
+    @Test
+    void jsonWritesASingleArray() throws IOException {
+        User user = fixtures.createUserWithBlogs("array@example.com", 3);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        blogExportService.export(user, BlogExportService.Format.JSON, out);
+
+        JsonNode array = objectMapper.readTree(out.toByteArray());
+        assertEquals(3, array.size());
+        assertEquals("Body 0", array.get(2).path("content").asText());
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.blogapi.service;
+
+import com.example.blogapi.dto.BulkImportItemResult;
+import com.example.blogapi.dto.BulkImportResult;
+import com.example.blogapi.model.BlogContentConverter;
+import com.example.blogapi.model.User;
+import com.example.blogapi.repository.BlogRepository;
+import com.example.blogapi.support.BlogFixtures;
+import com.example.blogapi.support.BlogJpaTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Not transactional: every batch commits in its own transaction
+@BlogJpaTest
+@TestPropertySource(properties = {
+        "app.blog.bulk.batch-size=100",
+        "app.blog.stats.counters-enabled=true"
+})
+@AutoConfigureJson
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({BlogImportService.class, BlogStatsService.class, BlogContentConverter.class})
+class BlogImportServiceTest {
+
+    @Autowired
+    private BlogFixtures fixtures;
+
+    @Autowired
+    private BlogImportService blogImportService;
+
+    @Autowired
+    private BlogStatsService blogStatsService;
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @Test
+    void importsValidLinesInBatchesAndReportsInvalidOnes() throws IOException {
+        User user = fixtures.createUser("bulk@example.com");
+        blogStatsService.initializeCounters(user);
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 250; i++) {
+            if (i == 10) {
+                body.append("{\"content\":\"no title\"}\n");
+            } else {
+                body.append("{\"title\":\"Post ").append(i).append("\",\"content\":\"Body\",\"published\":")
+                        .append(i % 2 == 0).append("}\n");
+            }
+        }
+
+        BulkImportResult result = blogImportService.importBlogs(user, stream(body.toString()));
+
+        assertEquals(250, result.getReceived());
+        assertEquals(249, result.getCreated());
+        assertEquals(1, result.getFailed());
+        assertEquals(250, result.getItems().size());
+        BulkImportItemResult rejected = result.getItems().get(10);
+        assertNull(rejected.getId());
+        assertEquals("title is required", rejected.getError());
+        assertNotNull(result.getItems().get(249).getId());
+
+        assertEquals(249, blogRepository.findSummariesByUser(user).size());
+        assertEquals("Body", blogRepository.findWithContentByUser(user).get(0).getContent());
+        assertEquals(249, blogStatsService.getStats(user).getTotalBlogs());
+        assertEquals(124, blogStatsService.getStats(user).getPublishedBlogs());
+    }
+
+    @Test
+    void malformedLineStopsTheImportButKeepsEarlierItems() throws IOException {
+        User user = fixtures.createUser("malformed@example.com");
+        blogStatsService.initializeCounters(user);
+        String body = "{\"title\":\"One\",\"content\":\"Body\"}\n{\"title\":\n";
+
+        BulkImportResult result = blogImportService.importBlogs(user, stream(body));
+
+        assertEquals(1, result.getCreated());
+        assertEquals(1, result.getFailed());
+        assertTrue(result.getItems().get(1).getError().startsWith("Malformed JSON"));
+        assertEquals(1, blogRepository.findSummariesByUser(user).size());
+    }
+
+    private ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
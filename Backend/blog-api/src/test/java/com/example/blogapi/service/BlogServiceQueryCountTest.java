@@ -0,0 +1,222 @@
+package com.example.blogapi.service;
+
+import com.example.blogapi.cache.BlogCache;
+import com.example.blogapi.dto.BlogDto;
+import com.example.blogapi.dto.BlogListVersion;
+import com.example.blogapi.dto.BlogPatchRequest;
+import com.example.blogapi.exception.BlogAccessDeniedException;
+import com.example.blogapi.exception.BlogNotFoundException;
+import com.example.blogapi.exception.BlogPreconditionFailedException;
+import com.example.blogapi.model.User;
+import com.example.blogapi.support.BlogFixtures;
+import com.example.blogapi.support.BlogServiceSliceTest;
+import com.example.blogapi.util.BlogExcerpt;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@BlogServiceSliceTest
+class BlogServiceQueryCountTest {
+
+    @Autowired
+    private BlogFixtures fixtures;
+
+    @Autowired
+    private BlogService blogService;
+
+    @Autowired
+    private BlogCache blogCache;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void listConversionIssuesOneStatementRegardlessOfSize() {
+        for (int size : new int[]{1, 10, 50}) {
+            User author = fixtures.createUserWithBlogs("author" + size + "@example.com", size);
+
+            statistics.clear();
+            List<BlogDto> blogs = blogService.getAllBlogs(author);
+
+            assertEquals(size, blogs.size());
+            assertEquals(1, statistics.getPrepareStatementCount(), "statements for " + size + " blogs");
+        }
+    }
+
+    @Test
+    void pageConversionIssuesOneStatementRegardlessOfSize() {
+        for (int size : new int[]{1, 10, 50}) {
+            User author = fixtures.createUserWithBlogs("pager" + size + "@example.com", size);
+
+            statistics.clear();
+            blogService.getBlogPage(author, null, size);
+
+            assertEquals(1, statistics.getPrepareStatementCount(), "statements for " + size + " blogs");
+        }
+    }
+
+    @Test
+    void singleBlogLoadsAuthorInSameStatement() {
+        User author = fixtures.createUserWithBlogs("single@example.com", 1);
+        Long blogId = blogService.getAllBlogs(author).get(0).getId();
+        entityManager.clear();
+
+        statistics.clear();
+        BlogDto blog = blogService.getBlogById(blogId, author);
+
+        assertEquals("single@example.com", blog.getUser().getEmail());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void listVersionIsOneAggregateStatement() {
+        User author = fixtures.createUserWithBlogs("version@example.com", 3);
+
+        statistics.clear();
+        BlogListVersion version = blogService.getListVersion(author);
+
+        assertEquals(3L, version.getCount());
+        assertNotNull(version.getLastUpdatedAt());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void ownedUpdateAndDeleteAreOneStatementEach() {
+        User author = fixtures.createUserWithBlogs("writer@example.com", 1);
+        Long blogId = blogService.getAllBlogs(author).get(0).getId();
+        blogService.getBlogById(blogId, author);
+
+        // The cached copy shows the body unchanged, so blog_content is not written
+        statistics.clear();
+        BlogDto updated = blogService.updateBlog(blogId, "New title", "Body 0", false, 0L, author);
+        assertEquals("New title", updated.getTitle());
+        assertNotNull(updated.getCreatedAt());
+        assertEquals(1L, updated.getVersion());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        // Listeners don't run inside the test transaction, so drop the stale entry by hand
+        blogCache.invalidate(blogId);
+        entityManager.clear();
+        blogService.getBlogById(blogId, author);
+        statistics.clear();
+        assertEquals("New body", blogService.updateBlog(blogId, "New title", "New body", false, 1L, author).getContent());
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        // If-Match: * has no version to count from, so the new one is read back
+        entityManager.clear();
+        statistics.clear();
+        assertEquals(3L, blogService.updateBlog(blogId, "New title", "New body", false, null, author).getVersion());
+        assertEquals(3, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        blogService.deleteBlog(blogId, author);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertThrows(BlogNotFoundException.class, () -> blogService.deleteBlog(blogId, author));
+    }
+
+    @Test
+    void scopedWritesStillTellForbiddenFromMissing() {
+        User owner = fixtures.createUserWithBlogs("scoped-owner@example.com", 1);
+        User intruder = fixtures.createUserWithBlogs("scoped-intruder@example.com", 0);
+        Long blogId = blogService.getAllBlogs(owner).get(0).getId();
+
+        assertThrows(BlogAccessDeniedException.class, () -> blogService.getBlogById(blogId, intruder));
+        assertThrows(BlogAccessDeniedException.class,
+                () -> blogService.updateBlog(blogId, "Hijacked", "x", true, null, intruder));
+        assertThrows(BlogAccessDeniedException.class, () -> blogService.deleteBlog(blogId, intruder));
+        assertThrows(BlogNotFoundException.class,
+                () -> blogService.updateBlog(blogId + 1000, "Missing", "x", true, null, owner));
+
+        // Nothing cached and no version named: the update still applies, and the row state is read back
+        assertEquals(true, blogService.updateBlog(blogId, "Published", "y", true, null, owner).isPublished());
+    }
+
+    @Test
+    void staleVersionFailsThePreconditionAndLeavesTheRowAlone() {
+        User author = fixtures.createUserWithBlogs("if-match@example.com", 1);
+        Long blogId = blogService.getAllBlogs(author).get(0).getId();
+
+        assertEquals(1L, blogService.updateBlog(blogId, "First", "a", false, 0L, author).getVersion());
+        assertThrows(BlogPreconditionFailedException.class,
+                () -> blogService.updateBlog(blogId, "Lost update", "b", false, 0L, author));
+        entityManager.clear();
+        assertThrows(BlogPreconditionFailedException.class,
+                () -> blogService.patchBlog(blogId, patch("Lost patch", null), 0L, author));
+
+        entityManager.clear();
+        assertEquals("First", blogService.getBlogById(blogId, author).getTitle());
+    }
+
+    @Test
+    void patchWritesOnlyTheChangedColumns() {
+        User author = fixtures.createUserWithBlogs("patcher@example.com", 1);
+        Long blogId = blogService.getAllBlogs(author).get(0).getId();
+        entityManager.clear();
+
+        // One read, one narrow UPDATE of blogs, and blog_content left alone
+        statistics.clear();
+        BlogDto patched = blogService.patchBlog(blogId, patch("Retitled", null), 0L, author);
+        assertEquals("Retitled", patched.getTitle());
+        assertEquals("Body 0", patched.getContent());
+        assertEquals(1L, patched.getVersion());
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        // A body-only edit still moves the blog's version
+        entityManager.clear();
+        assertEquals(2L, blogService.patchBlog(blogId, patch(null, "New body"), 1L, author).getVersion());
+        entityManager.clear();
+        assertEquals("New body", blogService.getAllBlogs(author).get(0).getContent());
+
+        // Nothing changed, so nothing is written and the version stays put
+        entityManager.clear();
+        assertEquals(2L, blogService.patchBlog(blogId, patch("Retitled", "New body"), null, author).getVersion());
+    }
+
+    @Test
+    void summariesCarryABoundedExcerptOfTheBody() {
+        User author = fixtures.createUserWithBlogs("excerpt@example.com", 0);
+        String longBody = "Intro\n\n" + "word ".repeat(100);
+        Long blogId = blogService.createBlog("Long", longBody, false, author).getId();
+
+        String excerpt = blogService.getBlogSummaries(author).get(0).getExcerpt();
+        assertEquals(BlogExcerpt.MAX_LENGTH, excerpt.length());
+        assertTrue(excerpt.startsWith("Intro word word"));
+
+        blogService.updateBlog(blogId, "Long", "Rewritten", false, 0L, author);
+        entityManager.clear();
+        assertEquals("Rewritten", blogService.getBlogSummaries(author).get(0).getExcerpt());
+
+        blogService.patchBlog(blogId, patch(null, "Patched   body"), 1L, author);
+        entityManager.flush();
+        entityManager.clear();
+        assertEquals("Patched body", blogService.getBlogSummaries(author).get(0).getExcerpt());
+    }
+
+    private BlogPatchRequest patch(String title, String content) {
+        BlogPatchRequest patch = new BlogPatchRequest();
+        patch.setTitle(title);
+        patch.setContent(content);
+        return patch;
+    }
+}
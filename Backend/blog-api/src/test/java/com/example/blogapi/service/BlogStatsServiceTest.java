@@ -0,0 +1,118 @@
+package com.example.blogapi.service;
+
+import com.example.blogapi.dto.BlogDto;
+import com.example.blogapi.dto.BlogStatsDto;
+import com.example.blogapi.model.User;
+import com.example.blogapi.model.UserBlogStats;
+import com.example.blogapi.support.BlogFixtures;
+import com.example.blogapi.support.BlogServiceSliceTest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@BlogServiceSliceTest
+@TestPropertySource(properties = "app.blog.stats.counters-enabled=true")
+class BlogStatsServiceTest {
+
+    @Autowired
+    private BlogFixtures fixtures;
+
+    @Autowired
+    private BlogService blogService;
+
+    @Autowired
+    private BlogStatsService blogStatsService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void aggregateCountsInOneStatement() {
+        User user = fixtures.createUser("aggregate@example.com");
+        blogService.createBlog("Published", "Body", true, user);
+        blogService.createBlog("Draft 1", "Body", false, user);
+        blogService.createBlog("Draft 2", "Body", false, user);
+        entityManager.flush();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        BlogStatsDto stats = blogStatsService.countStats(user);
+
+        assertEquals(new BlogStatsDto(3, 1, 2), stats);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void countersFollowCreateUpdateAndDelete() {
+        User user = fixtures.createUser("counters@example.com");
+        blogStatsService.initializeCounters(user);
+
+        BlogDto first = blogService.createBlog("First", "Body", false, user);
+        BlogDto second = blogService.createBlog("Second", "Body", true, user);
+        blogService.updateBlog(first.getId(), "First", "Body", true, null, user);
+        blogService.deleteBlog(second.getId(), user);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(new BlogStatsDto(1, 1, 0), blogStatsService.getStats(user));
+        assertEquals(blogStatsService.countStats(user), blogStatsService.getStats(user));
+    }
+
+    @Test
+    void countedWritesLockTheRowInsteadOfRetrying() {
+        User user = fixtures.createUser("locked@example.com");
+        blogStatsService.initializeCounters(user);
+        BlogDto blog = blogService.createBlog("Draft", "Body", false, user);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Locked read of the flag, the blogs UPDATE and the counter delta; the body is written as nothing is cached
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        assertEquals(1L, blogService.updateBlog(blog.getId(), "Published", "Body", true, 0L, user).getVersion());
+        assertEquals(4, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        blogService.deleteBlog(blog.getId(), user);
+        assertEquals(3, statistics.getPrepareStatementCount());
+
+        entityManager.flush();
+        entityManager.clear();
+        assertEquals(new BlogStatsDto(0, 0, 0), blogStatsService.getStats(user));
+    }
+
+    @Test
+    void rebuildMatchesAggregate() {
+        User user = fixtures.createUser("rebuild@example.com");
+        blogService.createBlog("Published", "Body", true, user);
+        blogService.createBlog("Draft", "Body", false, user);
+        // A row left stale while counters were off, and a user who never had one
+        User stale = fixtures.createUser("rebuild-stale@example.com");
+        blogStatsService.initializeCounters(stale);
+        blogService.createBlog("Uncounted", "Body", true, stale);
+        entityManager.merge(new UserBlogStats(stale.getId(), 5, 5, 0));
+        entityManager.flush();
+        entityManager.clear();
+
+        blogStatsService.rebuildCounters();
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(new BlogStatsDto(2, 1, 1), userBlogStats(user));
+        assertEquals(new BlogStatsDto(1, 1, 0), userBlogStats(stale));
+    }
+
+    private BlogStatsDto userBlogStats(User user) {
+        UserBlogStats counters = entityManager.find(UserBlogStats.class, user.getId());
+        return new BlogStatsDto(counters.getTotalBlogs(), counters.getPublishedBlogs(), counters.getDraftBlogs());
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.blogapi.service;
+
+import com.example.blogapi.dto.UserDto;
+import com.example.blogapi.model.User;
+import com.example.blogapi.repository.UserRepository;
+import com.example.blogapi.security.AuthenticatedUser;
+import com.example.blogapi.support.BlogFixtures;
+import com.example.blogapi.support.BlogServiceSliceTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Not transactional: each service call commits on its own, as it does behind a request
+@BlogServiceSliceTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserServiceTest {
+
+    @Autowired
+    private BlogFixtures fixtures;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void cachedUserCopiesDoNotShareChanges() {
+        signIn(fixtures.createUser("copies@example.com"));
+
+        userService.getCurrentUser().setName("Changed in place");
+
+        assertEquals("Author", userService.getCurrentUser().getName());
+    }
+
+    @Test
+    void profileUpdateDoesNotRevertAPasswordChange() {
+        User user = fixtures.createUser("profile@example.com");
+        signIn(user);
+        // Warm the cache with the profile as it was before the password change
+        userService.getCurrentUser();
+
+        assertTrue(userService.updatePassword("secret", "new-secret"));
+        UserDto updated = userService.updateUserProfile(profile("Renamed", null));
+
+        User stored = userRepository.findById(user.getId()).orElseThrow();
+        assertEquals("Renamed", updated.getName());
+        assertEquals("Bio", stored.getBio());
+        assertTrue(passwordEncoder.matches("new-secret", stored.getPassword()));
+        assertEquals(1, stored.getTokenVersion());
+    }
+
+    // As under open-in-view, where the request's persistence context already holds the user
+    @Test
+    @Transactional
+    void changesAreReadBackInTheSamePersistenceContext() {
+        signIn(fixtures.createUser("shared@example.com"));
+        userService.getCurrentUser();
+
+        assertTrue(userService.updatePassword("secret", "new-secret"));
+        assertEquals(1, userService.getCurrentUser().getTokenVersion());
+        assertEquals("Renamed", userService.updateUserProfile(profile("Renamed", "New bio")).getName());
+        assertEquals("New bio", userService.getCurrentUser().getBio());
+    }
+
+    @Test
+    void passwordChangeNeedsTheCurrentPassword() {
+        User user = fixtures.createUser("wrong@example.com");
+        signIn(user);
+
+        assertFalse(userService.updatePassword("not-it", "new-secret"));
+        assertEquals(0, userRepository.findById(user.getId()).orElseThrow().getTokenVersion());
+    }
+
+    private UserDto profile(String name, String bio) {
+        UserDto dto = new UserDto();
+        dto.setName(name);
+        dto.setBio(bio);
+        return dto;
+    }
+
+    private void signIn(User user) {
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getEmail(), user.getTokenVersion());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
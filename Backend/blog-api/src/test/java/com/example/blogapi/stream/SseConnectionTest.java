@@ -0,0 +1,151 @@
+package com.example.blogapi.stream;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SseConnectionTest {
+
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private final Executor manualExecutor = tasks::add;
+    private final Counter dropped = new SimpleMeterRegistry().counter("dropped");
+
+    @Test
+    void slowClientLosesTheOldestEventsAndIsToldToResync() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        SseConnection connection = new SseConnection(emitter, 3, manualExecutor, dropped, () -> { }, Runnable::run);
+
+        for (long id = 1; id <= 5; id++) {
+            connection.offer(new StreamEvent(id, "updated", "blog " + id));
+        }
+        // One drain is scheduled however many events arrive
+        assertEquals(1, tasks.size());
+        runTasks();
+
+        assertEquals(List.of("event:resync", "id:3", "id:4", "id:5"), emitter.heads());
+        assertEquals(2.0, dropped.count());
+    }
+
+    @Test
+    void heartbeatsOnlyGoToIdleConnections() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        SseConnection connection = new SseConnection(emitter, 3, manualExecutor, dropped, () -> { }, Runnable::run);
+
+        connection.offer(new StreamEvent(1, "created", "blog 1"));
+        connection.heartbeat();
+        runTasks();
+        connection.heartbeat();
+        runTasks();
+
+        assertEquals(List.of("id:1", ":heartbeat"), emitter.heads());
+    }
+
+    @Test
+    void failedSendClosesTheConnectionOnce() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitter.failing = true;
+        AtomicInteger closes = new AtomicInteger();
+        SseConnection connection = new SseConnection(emitter, 3, manualExecutor, dropped, closes::incrementAndGet, Runnable::run);
+
+        connection.offer(new StreamEvent(1, "created", "blog 1"));
+        runTasks();
+        connection.offer(new StreamEvent(2, "created", "blog 2"));
+        runTasks();
+
+        assertTrue(connection.isClosed());
+        assertEquals(1, closes.get());
+        assertTrue(tasks.isEmpty());
+    }
+
+    @Test
+    void stalledSendIsCutOffAndFreesItsThread() throws Exception {
+        CountDownLatch sending = new CountDownLatch(1);
+        SseEmitter stalled = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                sending.countDown();
+                try {
+                    new CountDownLatch(1).await();
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException("Write interrupted");
+                }
+            }
+        };
+        AtomicInteger closes = new AtomicInteger();
+        SseConnection connection = new SseConnection(stalled, 3, manualExecutor, dropped, closes::incrementAndGet,
+                Runnable::run);
+        connection.offer(new StreamEvent(1, "created", "blog 1"));
+        Thread senderThread = new Thread(tasks.poll());
+        senderThread.start();
+        assertTrue(sending.await(5, TimeUnit.SECONDS));
+
+        assertFalse(connection.closeIfStalled(System.nanoTime(), TimeUnit.MINUTES.toNanos(1)));
+        assertTrue(connection.closeIfStalled(System.nanoTime(), 0));
+        senderThread.join(5000);
+
+        assertFalse(senderThread.isAlive());
+        assertTrue(connection.isClosed());
+        assertEquals(1, closes.get());
+    }
+
+    @Test
+    void fullSenderQueueClosesTheConnection() {
+        AtomicInteger closes = new AtomicInteger();
+        Executor full = task -> {
+            throw new RejectedExecutionException("Queue full");
+        };
+        SseConnection connection = new SseConnection(new RecordingEmitter(), 3, full, dropped,
+                closes::incrementAndGet, manualExecutor);
+
+        connection.offer(new StreamEvent(1, "created", "blog 1"));
+        // Closed on the closer, not on the offering thread
+        assertEquals(0, closes.get());
+        runTasks();
+
+        assertTrue(connection.isClosed());
+        assertEquals(1, closes.get());
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> frames = new ArrayList<>();
+        private boolean failing;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            frames.add(builder.build().stream().map(part -> part.getData().toString()).collect(Collectors.joining()));
+        }
+
+        // First line of each frame: the id, the event name for resyncs, or the comment
+        List<String> heads() {
+            return frames.stream().map(frame -> frame.substring(0, frame.indexOf('\n'))).collect(Collectors.toList());
+        }
+    }
+}
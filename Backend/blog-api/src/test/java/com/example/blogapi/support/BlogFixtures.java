@@ -0,0 +1,66 @@
+package com.example.blogapi.support;
+
+import com.example.blogapi.model.Blog;
+import com.example.blogapi.model.BlogContent;
+import com.example.blogapi.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Users and blogs for JPA tests. Runs in the test's transaction when it has
+ * one, and commits on its own in tests that opt out of it.
+ */
+@TestComponent
+@Transactional
+public class BlogFixtures {
+
+    public static final String PASSWORD = "secret";
+
+    // Hashed once at the lowest cost; any BCrypt encoder verifies it
+    private static final String PASSWORD_HASH = new BCryptPasswordEncoder(4).encode(PASSWORD);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public User createUser(String email) {
+        return createUser("Author", email);
+    }
+
+    public User createUser(String name, String email) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        user.setBio("Bio");
+        user.setPassword(PASSWORD_HASH);
+        entityManager.persist(user);
+        return user;
+    }
+
+    public Blog createBlog(User user, String title, String content, boolean published) {
+        Blog blog = new Blog();
+        blog.setTitle(title);
+        blog.setPublished(published);
+        blog.setUser(user);
+        entityManager.persist(blog);
+        entityManager.persist(new BlogContent(null, blog, content));
+        return blog;
+    }
+
+    /**
+     * A user with {@code count} drafts titled {@code "Post i"} with body
+     * {@code "Body i"}, flushed and detached so that reading them back has to
+     * hit the database.
+     */
+    public User createUserWithBlogs(String email, int count) {
+        User user = createUser(email);
+        for (int i = 0; i < count; i++) {
+            createBlog(user, "Post " + i, "Body " + i, false);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return user;
+    }
+}
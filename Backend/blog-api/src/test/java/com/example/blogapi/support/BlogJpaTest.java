@@ -0,0 +1,28 @@
+package com.example.blogapi.support;
+
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * {@code @DataJpaTest} against the embedded H2 database, with Hibernate
+ * statistics on for statement counts and {@link BlogFixtures} for test data.
+ * Tests add their own beans with {@code @Import} and settings with
+ * {@code @TestPropertySource}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@DataJpaTest(properties = {
+        // application.properties targets MySQL
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(BlogFixtures.class)
+public @interface BlogJpaTest {
+}
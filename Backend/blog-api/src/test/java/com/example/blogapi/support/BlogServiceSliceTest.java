@@ -0,0 +1,39 @@
+package com.example.blogapi.support;
+
+import com.example.blogapi.cache.BlogCache;
+import com.example.blogapi.config.CacheConfig;
+import com.example.blogapi.feed.FeedTimeline;
+import com.example.blogapi.model.BlogContentConverter;
+import com.example.blogapi.security.TokenVersionCache;
+import com.example.blogapi.security.UserPrincipalCache;
+import com.example.blogapi.service.BlogContentMigration;
+import com.example.blogapi.service.BlogService;
+import com.example.blogapi.service.BlogStatsService;
+import com.example.blogapi.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.autoconfigure.cache.CacheType;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * {@link BlogJpaTest} with the blog and user services wired in, along with the
+ * caches and beans they depend on. A bean a service starts depending on is
+ * added here once, and every service test picks it up.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@BlogJpaTest
+@AutoConfigureCache(cacheProvider = CacheType.CAFFEINE)
+@Import({BlogService.class, BlogStatsService.class, UserService.class, UserPrincipalCache.class, TokenVersionCache.class,
+        FeedTimeline.class, BlogCache.class, BlogContentMigration.class, BlogContentConverter.class, CacheConfig.class,
+        BCryptPasswordEncoder.class, SimpleMeterRegistry.class})
+public @interface BlogServiceSliceTest {
+}
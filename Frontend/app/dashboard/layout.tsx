@@ -6,6 +6,7 @@ import { useEffect, useState } from "react"
 import { useRouter } from "next/navigation"
 import Link from "next/link"
 import { Button } from "@/components/ui/button"
+import { fetchAPI } from "@/lib/api"
 import { LayoutDashboard, FileText, User, LogOut, Menu } from "lucide-react"
 
 export default function DashboardLayout({
@@ -40,7 +41,13 @@ export default function DashboardLayout({
   }, [router])
 
   const handleLogout = () => {
+    // Revoke both tokens server-side; logging out locally does not wait on it
+    fetchAPI("/auth/logout", {
+      method: "POST",
+      body: JSON.stringify({ refreshToken: localStorage.getItem("refreshToken") }),
+    }).catch(() => {})
     localStorage.removeItem("token")
+    localStorage.removeItem("refreshToken")
     localStorage.removeItem("user")
     router.push("/login")
   }
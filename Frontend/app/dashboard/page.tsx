@@ -5,13 +5,14 @@ import Link from "next/link"
 import { Button } from "@/components/ui/button"
 import { Card, CardContent, CardDescription, CardFooter, CardHeader, CardTitle } from "@/components/ui/card"
 import { PlusCircle, Edit, Trash2, ThumbsUp, MessageSquare } from "lucide-react"
-import { fetchAPI, mockAPI, shouldUseMockData, mockData } from "@/lib/api"
+import { fetchAPI, mockAPI, shouldUseMockData, mockData, subscribeBlogEvents } from "@/lib/api"
 import { toast } from "@/components/ui/use-toast"
 
 interface Post {
   id: number
   title: string
-  content: string
+  // Bounded preview from the list summary; the body itself is only loaded by the editor
+  excerpt: string | null
   createdAt: string
   likes: number
   comments: number
@@ -68,8 +69,36 @@ export default function DashboardPage() {
     }
 
     loadPosts()
+
+    if (shouldUseMockData()) {
+      return
+    }
+
+    // Pushed changes keep the list current without polling; made elsewhere too, e.g. in another tab.
+    // Each event carries the same summary the list is built from, so nothing needs refetching.
+    return subscribeBlogEvents((event) => {
+      if (event.type === "resync") {
+        loadPosts()
+        return
+      }
+      if (event.type === "deleted") {
+        setPosts((prev) => prev.filter((post) => post.id !== event.data.id))
+        return
+      }
+      const post: Post = event.data
+      setPosts((prev) =>
+        prev.some((existing) => existing.id === post.id)
+          ? prev.map((existing) => (existing.id === post.id ? { ...existing, ...post } : existing))
+          : [post, ...prev]
+      )
+    })
   }, [])
 
+  // Events change the list outside loadPosts, so keep the count in step with it
+  useEffect(() => {
+    setStats((prev) => ({ ...prev, totalPosts: posts.length }))
+  }, [posts])
+
   const handleDeletePost = async (id: number) => {
     if (!confirm("Are you sure you want to delete this post?")) return
 
@@ -159,7 +188,7 @@ export default function DashboardPage() {
               <CardDescription>{new Date(post.createdAt).toLocaleDateString()}</CardDescription>
             </CardHeader>
             <CardContent>
-              <p className="line-clamp-3">{post.content}</p>
+              <p className="line-clamp-3">{post.excerpt}</p>
             </CardContent>
             <CardFooter className="flex justify-between">
               <div className="flex space-x-4 text-sm text-gray-500">
@@ -10,7 +10,7 @@ import { Card, CardContent, CardFooter, CardHeader, CardTitle } from "@/componen
 import { toast } from "@/components/ui/use-toast"
 import { ArrowLeft } from "lucide-react"
 import Link from "next/link"
-import { fetchAPI } from "@/lib/api"
+import { fetchAPI, type ApiError } from "@/lib/api"
 
 export default function EditPostPage({ params }: { params: { id: string } }) {
   const router = useRouter()
@@ -20,6 +20,9 @@ export default function EditPostPage({ params }: { params: { id: string } }) {
     title: "",
     content: "",
   })
+  // What the server last sent us, so only real changes are sent back
+  const [original, setOriginal] = useState({ title: "", content: "" })
+  const [version, setVersion] = useState<number | null>(null)
 
   useEffect(() => {
     const fetchPost = async () => {
@@ -29,6 +32,8 @@ export default function EditPostPage({ params }: { params: { id: string } }) {
           title: data.title,
           content: data.content,
         })
+        setOriginal({ title: data.title, content: data.content })
+        setVersion(data.version)
       } catch (error) {
         const errorMessage = error instanceof Error ? error.message : "Could not load the post"
         
@@ -82,16 +87,23 @@ export default function EditPostPage({ params }: { params: { id: string } }) {
       return
     }
 
+    const changes: { title?: string; content?: string } = {}
+    if (formData.title !== original.title) changes.title = formData.title
+    if (formData.content !== original.content) changes.content = formData.content
+
+    if (Object.keys(changes).length === 0) {
+      router.push("/dashboard/posts")
+      return
+    }
+
     setIsLoading(true)
 
     try {
+      // Only the changed fields, and only if nobody else saved the post since we loaded it
       await fetchAPI(`/blogs/${params.id}`, {
-        method: "PUT",
-        body: JSON.stringify({
-          title: formData.title,
-          content: formData.content,
-          // Include any other required fields from your BlogRequest DTO
-        }),
+        method: "PATCH",
+        headers: version !== null ? { "If-Match": `"blog-${params.id}-v${version}"` } : {},
+        body: JSON.stringify(changes),
       })
 
       toast({
@@ -102,7 +114,15 @@ export default function EditPostPage({ params }: { params: { id: string } }) {
     } catch (error) {
       const errorMessage = error instanceof Error ? error.message : "Failed to update post"
       
-      if (errorMessage.includes("403")) {
+      const status = (error as ApiError).status
+
+      if (status === 409 || status === 412) {
+        toast({
+          variant: "destructive",
+          title: "Post changed elsewhere",
+          description: "This post was updated since you opened it. Reload to see the latest version before saving.",
+        })
+      } else if (errorMessage.includes("403")) {
         toast({
           variant: "destructive",
           title: "Permission Denied",
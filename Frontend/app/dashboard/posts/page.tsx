@@ -12,7 +12,8 @@ import { fetchAPI } from "@/lib/api"
 interface Post {
   id: number
   title: string
-  content: string
+  // Bounded preview from the list summary; the body itself is only loaded by the editor
+  excerpt: string | null
   createdAt: string
   likes: number
   comments: number
@@ -43,7 +44,7 @@ export default function PostsPage() {
         {
           id: 1,
           title: "Getting Started with React",
-          content: "React is a popular JavaScript library for building user interfaces...",
+          excerpt: "React is a popular JavaScript library for building user interfaces...",
           createdAt: "2023-05-15T10:30:00Z",
           likes: 24,
           comments: 8,
@@ -51,7 +52,7 @@ export default function PostsPage() {
         {
           id: 2,
           title: "Spring Boot Best Practices",
-          content: "Spring Boot makes it easy to create stand-alone, production-grade Spring based Applications...",
+          excerpt: "Spring Boot makes it easy to create stand-alone, production-grade Spring based Applications...",
           createdAt: "2023-06-22T14:15:00Z",
           likes: 18,
           comments: 5,
@@ -59,7 +60,7 @@ export default function PostsPage() {
         {
           id: 3,
           title: "JavaScript ES6 Features",
-          content: "ES6 introduced many new features to JavaScript including arrow functions, template literals...",
+          excerpt: "ES6 introduced many new features to JavaScript including arrow functions, template literals...",
           createdAt: "2023-07-10T09:45:00Z",
           likes: 32,
           comments: 12,
@@ -89,7 +90,7 @@ export default function PostsPage() {
       const filtered = posts.filter(
         (post) =>
           post.title.toLowerCase().includes(searchQuery.toLowerCase()) ||
-          post.content.toLowerCase().includes(searchQuery.toLowerCase()),
+          (post.excerpt ?? "").toLowerCase().includes(searchQuery.toLowerCase()),
       )
       setFilteredPosts(filtered)
     }
@@ -141,7 +142,7 @@ export default function PostsPage() {
       <div className="relative max-w-md">
         <Search className="absolute left-3 top-1/2 h-4 w-4 -translate-y-1/2 text-gray-500" />
         <Input
-          placeholder="Search posts by title or content..."
+          placeholder="Search posts by title or excerpt..."
           className="pl-10"
           value={searchQuery}
           onChange={(e) => setSearchQuery(e.target.value)}
@@ -172,7 +173,7 @@ export default function PostsPage() {
                 </CardDescription>
               </CardHeader>
               <CardContent>
-                <p className="line-clamp-4 text-gray-700">{post.content}</p>
+                <p className="line-clamp-4 text-gray-700">{post.excerpt}</p>
               </CardContent>
               <CardFooter className="flex justify-between">
                 <div className="flex space-x-4 text-sm text-gray-600">
@@ -58,6 +58,7 @@ export default function LoginPage() {
 
         // Store auth data
         localStorage.setItem("token", userData.token)
+        localStorage.setItem("refreshToken", userData.refreshToken)
         localStorage.setItem("user", JSON.stringify(userData.user))
 
         toast({
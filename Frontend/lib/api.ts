@@ -1,13 +1,51 @@
 // lib/api.ts
 const API_BASE_URL = process.env.NEXT_PUBLIC_API_URL || "http://localhost:8080/api";
 
-interface ApiError extends Error {
+export interface ApiError extends Error {
   status?: number;
 }
 
+// Shared so that concurrent requests failing at once trigger a single refresh
+let refreshInFlight: Promise<boolean> | null = null;
+
+// Swaps the stored refresh token for a new access/refresh pair. Refresh tokens
+// are single-use, so the rotated one must replace the old one immediately.
+async function refreshTokens(): Promise<boolean> {
+  const refreshToken = localStorage.getItem("refreshToken");
+  if (!refreshToken) {
+    return false;
+  }
+
+  if (!refreshInFlight) {
+    refreshInFlight = fetch(`${API_BASE_URL}/auth/refresh`, {
+      method: "POST",
+      headers: { "Content-Type": "application/json" },
+      body: JSON.stringify({ refreshToken }),
+      credentials: "include",
+    })
+      .then(async (response) => {
+        if (!response.ok) {
+          localStorage.removeItem("token");
+          localStorage.removeItem("refreshToken");
+          return false;
+        }
+        const data = await response.json();
+        localStorage.setItem("token", data.token);
+        localStorage.setItem("refreshToken", data.refreshToken);
+        return true;
+      })
+      .catch(() => false)
+      .finally(() => {
+        refreshInFlight = null;
+      });
+  }
+  return refreshInFlight;
+}
+
 export async function fetchAPI<T = any>(
   endpoint: string,
-  options: RequestInit = {}
+  options: RequestInit = {},
+  retried = false
 ): Promise<T> {
   try {
     // Set up headers
@@ -28,6 +66,13 @@ export async function fetchAPI<T = any>(
       credentials: "include",
     });
 
+    // Expired access token: refresh once and replay the request
+    if ((response.status === 401 || response.status === 403) && token && !retried && !endpoint.startsWith("/auth/")) {
+      if (await refreshTokens()) {
+        return fetchAPI<T>(endpoint, options, true);
+      }
+    }
+
     // Handle 204 No Content responses (common for DELETE requests)
     if (response.status === 204) {
       return null as unknown as T;
@@ -78,6 +123,109 @@ export async function fetchAPI<T = any>(
   }
 }
 
+export type BlogEventType = "created" | "updated" | "deleted" | "resync";
+
+export interface BlogEvent {
+  type: BlogEventType;
+  // Blog summary ({ id, title, excerpt, published, createdAt, updatedAt }); only the id for deletes, null for resync
+  data: any;
+}
+
+// Follows GET /blogs/events. EventSource can't send the bearer token, so the
+// stream is read with fetch. After a drop it reconnects with Last-Event-ID and
+// the server replays what was missed, or sends "resync" when the caller should
+// reload. Returns a function that closes the stream.
+export function subscribeBlogEvents(onEvent: (event: BlogEvent) => void): () => void {
+  const controller = new AbortController();
+  let lastEventId: string | null = null;
+  let retryMs = 3000;
+
+  function dispatch(frame: string) {
+    let type = "message";
+    let data = "";
+    for (const line of frame.split("\n")) {
+      if (line.startsWith(":")) {
+        continue;
+      }
+      const colon = line.indexOf(":");
+      const field = colon < 0 ? line : line.slice(0, colon);
+      const value = colon < 0 ? "" : line.slice(colon + 1).replace(/^ /, "");
+      if (field === "event") {
+        type = value;
+      } else if (field === "data") {
+        data += (data ? "\n" : "") + value;
+      } else if (field === "id") {
+        lastEventId = value;
+      } else if (field === "retry") {
+        retryMs = Number(value) || retryMs;
+      }
+    }
+    if (type === "created" || type === "updated" || type === "deleted") {
+      onEvent({ type, data: JSON.parse(data) });
+    } else if (type === "resync") {
+      onEvent({ type, data: null });
+    }
+  }
+
+  // Resolves when the server ends the stream; false means stop for good
+  async function connect(): Promise<boolean> {
+    const headers: Record<string, string> = { Accept: "text/event-stream" };
+    const token = localStorage.getItem("token");
+    if (!token) {
+      return false;
+    }
+    headers["Authorization"] = `Bearer ${token}`;
+    if (lastEventId) {
+      headers["Last-Event-ID"] = lastEventId;
+    }
+
+    const response = await fetch(`${API_BASE_URL}/blogs/events`, {
+      headers,
+      credentials: "include",
+      signal: controller.signal,
+    });
+    if (response.status === 401 || response.status === 403) {
+      return refreshTokens();
+    }
+    if (!response.ok || !response.body) {
+      throw new Error(`Event stream failed with status ${response.status}`);
+    }
+
+    const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+    let buffer = "";
+    while (true) {
+      const { value, done } = await reader.read();
+      if (done) {
+        return true;
+      }
+      buffer += value.replace(/\r/g, "");
+      let end;
+      while ((end = buffer.indexOf("\n\n")) >= 0) {
+        dispatch(buffer.slice(0, end));
+        buffer = buffer.slice(end + 2);
+      }
+    }
+  }
+
+  (async () => {
+    while (!controller.signal.aborted) {
+      try {
+        if (!(await connect())) {
+          return;
+        }
+      } catch (error) {
+        if (controller.signal.aborted) {
+          return;
+        }
+        console.error("Blog event stream dropped", error);
+      }
+      await new Promise((resolve) => setTimeout(resolve, retryMs));
+    }
+  })();
+
+  return () => controller.abort();
+}
+
 // Mock API for development/preview
 export async function mockAPI<T = any>(
   endpoint: string,
@@ -113,6 +261,7 @@ export const mockData = {
       id: 1,
       title: "Getting Started with React",
       content: "React is a popular JavaScript library for building user interfaces...",
+      excerpt: "React is a popular JavaScript library for building user interfaces...",
       createdAt: "2023-05-15T10:30:00Z",
       likes: 24,
       comments: 8,